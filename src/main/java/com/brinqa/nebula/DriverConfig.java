@@ -16,6 +16,7 @@
 package com.brinqa.nebula;
 
 import com.brinqa.nebula.impl.NoneSSLParam;
+import com.brinqa.nebula.impl.tracing.Tracer;
 import com.vesoft.nebula.client.graph.data.HostAddress;
 import com.vesoft.nebula.client.graph.data.SSLParam;
 import java.util.List;
@@ -88,4 +89,143 @@ public class DriverConfig {
 
   // SSL param is required if ssl is turned on
   @NonNull @Default SSLParam sslParam = new NoneSSLParam();
+
+  /**
+   * @return max number of rows coalesced into a single batched INSERT statement.
+   */
+  @Default int batchMaxRows = 256;
+
+  /**
+   * @return max size in bytes of the text of a single batched INSERT statement.
+   */
+  @Default int batchMaxBytes = 1024 * 1024;
+
+  /**
+   * @return max number of batched INSERT statements in-flight at once for a batch writer.
+   */
+  @Default int batchParallelism = 4;
+
+  /**
+   * @return Set to true to queue the write statements of a transaction on the client and send them
+   *     on commit as semicolon joined scripts, rollback simply discards them.
+   */
+  boolean bufferTransactionWrites;
+
+  /**
+   * @return max number of buffered statements joined into a single script on commit.
+   */
+  @Default int transactionScriptStatements = 64;
+
+  // Max weight of the cached read results, unit: approximate bytes received
+  // 0 means results are not cached
+  long resultCacheMaxBytes;
+
+  // The time a cached read result remains valid after it was loaded, unit: millisecond
+  @Default long resultCacheTtl = 60_000L;
+
+  /**
+   * @return Set to true so concurrent identical read queries share a single execution and result.
+   */
+  boolean coalesceReads;
+
+  /**
+   * @return max number of vertex ids fetched by a single query of a vertex loader.
+   */
+  @Default int loaderMaxBatchSize = 500;
+
+  // The time a vertex loader waits to collect more ids before fetching, unit: millisecond
+  @Default long loaderWindow = 2L;
+
+  /**
+   * @return max number of frontier vertices expanded by a single GO query of a traversal.
+   */
+  @Default int traversalChunkSize = 1000;
+
+  /**
+   * @return max number of GO queries of a traversal in-flight at once.
+   */
+  @Default int traversalParallelism = 4;
+
+  // Max number of elements of a list parameter sent with a single read query, larger lists are
+  // split and the chunks run concurrently, 0 means list parameters are never split
+  int listParameterChunkSize;
+
+  /**
+   * @return max number of chunks of a split read query in-flight at once.
+   */
+  @Default int listParameterParallelism = 4;
+
+  // Results received larger than this are spilled to a memory-mapped file and converted to records
+  // lazily, unit: approximate bytes received, 0 means results are never spilled. The result is
+  // spilled after it is received whole, this lowers the memory retained, not the peak memory
+  long spillThresholdBytes;
+
+  // Directory of the spill files, the temporary directory of the JVM if not set
+  String spillDirectory;
+
+  /**
+   * @return list of host addresses to Meta Service instances, required to scan the storage.
+   */
+  @Singular List<HostAddress> metaAddresses;
+
+  /**
+   * @return max number of partitions scanned at once.
+   */
+  @Default int scanParallelism = 8;
+
+  /**
+   * @return size in bytes of the chunks of a file parsed and written at a time by an import.
+   */
+  @Default int importChunkBytes = 4 * 1024 * 1024;
+
+  /**
+   * @return max number of chunks of a file an import parses and writes at once.
+   */
+  @Default int importParallelism = 8;
+
+  // The time the schema of a space remains valid after it was loaded, unit: millisecond
+  // 0 means schemas are not loaded and values are written by their Java type
+  @Default long schemaCacheTtl = 300_000L;
+
+  // Results with more rows than this are converted to records in parallel on the common fork-join
+  // pool when listed, 0 means results are always converted on the calling thread. Off by default,
+  // the common pool is shared with the parallel streams of the application
+  int parallelConversionThreshold;
+
+  // Set to true to keep the string cells of results as the UTF-8 bytes received and decode them
+  // only when read. Such values are only equal to each other, never to a Values.value(String) of
+  // the same text, compare their asString() instead. Strings nested in nodes, lists and maps and
+  // those of spilled results are always decoded.
+  boolean lazyStringValues;
+
+  // Max number of distinct query shapes the driver keeps statistics for, the least called are
+  // evicted to make room, 0 means no statistics are kept
+  int queryStatsMaxEntries;
+
+  // Queries slower than this from the call to the result are logged, unit: millisecond
+  // 0 means the client latency never marks a query as slow
+  long slowQueryThreshold;
+
+  // Queries the Graph Service reports slower than this are logged, unit: millisecond
+  // 0 means the server latency never marks a query as slow
+  long slowQueryServerThreshold;
+
+  /**
+   * @return fraction of the slow queries logged, between 0 and 1.
+   */
+  @Default double slowQuerySampleRate = 1.0;
+
+  /**
+   * @return Set to true to log the values of the parameters of slow queries instead of their types.
+   */
+  boolean slowQueryParameterValues;
+
+  /**
+   * @return tracer of the query runs, spans are not recorded by default.
+   */
+  @NonNull @Default Tracer tracer = Tracer.NOOP;
+
+  // Fraction of the single statement read queries run with PROFILE so the summaries of their
+  // results carry the profiled plan, between 0 and 1, 0 means queries are only profiled as written
+  double autoProfileSampleRate;
 }
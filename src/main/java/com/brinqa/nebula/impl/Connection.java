@@ -17,6 +17,7 @@ package com.brinqa.nebula.impl;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.brinqa.nebula.impl.jfr.ExecuteEvent;
 import com.facebook.thrift.TException;
 import com.facebook.thrift.protocol.TCompactProtocol;
 import com.facebook.thrift.transport.TSocket;
@@ -95,9 +96,29 @@ public class Connection implements Closeable {
 
   /** Clients are not thread safe. */
   public synchronized ResultSet execute(String stmt, Map<byte[], Value> parameterMap) {
-    final var sessionId = this.sessionData.getSessionId();
-    final var resp = client.executeWithParameter(sessionId, stmt.getBytes(UTF_8), parameterMap);
-    return new ResultSet(resp, this.sessionData.getTimezoneOffset());
+    final var event = new ExecuteEvent();
+    event.begin();
+    ResultSet ret = null;
+    try {
+      final var sessionId = this.sessionData.getSessionId();
+      final var resp = client.executeWithParameter(sessionId, stmt.getBytes(UTF_8), parameterMap);
+      ret = new ResultSet(resp, this.sessionData.getTimezoneOffset());
+      return ret;
+    } finally {
+      // committed whether the statement failed or not, a stalled failure is worth recording
+      event.end();
+      if (event.shouldCommit()) {
+        event.host = getAddress().toString();
+        event.space = currentSpace.get();
+        if (null != ret) {
+          event.succeeded = ret.isSucceeded();
+          event.rows = ret.rowsSize();
+          event.bytes = ret.isEmpty() ? 0L : ValueSizeEstimator.estimate(ret.getRows());
+          event.latency = ret.getLatency();
+        }
+        event.commit();
+      }
+    }
   }
 
   private AuthResult authenticate(String user, final String password) throws AuthFailedException {
@@ -18,6 +18,8 @@ package com.brinqa.nebula.impl;
 import static com.brinqa.nebula.impl.SocketFactoryUtil.newFactory;
 
 import com.brinqa.nebula.DriverConfig;
+import com.brinqa.nebula.impl.jfr.ConnectEvent;
+import com.brinqa.nebula.impl.jfr.DisconnectEvent;
 import com.vesoft.nebula.client.graph.data.HostAddress;
 import java.io.IOException;
 import java.net.InetAddress;
@@ -81,6 +83,8 @@ public class ConnectionPoolFactory extends BasePooledObjectFactory<Connection> {
               .username(driverConfig.getUsername())
               .password(driverConfig.getPassword())
               .build();
+      final var event = new ConnectEvent();
+      event.begin();
       try {
         synchronized (this) {
           // check if there's existing data
@@ -88,12 +92,19 @@ public class ConnectionPoolFactory extends BasePooledObjectFactory<Connection> {
           final var c = new Connection(data, identifier, timeout, socketFactory);
           // save off the session data
           this.identifier2Data.put(identifier, c.getSessionData().incrementRef());
+          event.succeeded = true;
           return c;
         }
       } catch (Exception ex) {
         // TODO: check for any exceptions that would invalidate the session data
         log.warn("Unable to connect to host address {}", identifier.getHostAddress(), ex);
         lastException = ex;
+      } finally {
+        event.end();
+        if (event.shouldCommit()) {
+          event.host = identifier.getHostAddress().toString();
+          event.commit();
+        }
       }
     }
     throw new ServiceUnavailableException("Unable to find a usable address.", lastException);
@@ -109,6 +120,8 @@ public class ConnectionPoolFactory extends BasePooledObjectFactory<Connection> {
   public void destroyObject(PooledObject<Connection> p) throws Exception {
     final var connection = p.getObject();
     final var sessionIdentifier = connection.getSessionIdentifier();
+    final var event = new DisconnectEvent();
+    event.begin();
     synchronized (this) {
       final var sessionData = this.identifier2Data.get(sessionIdentifier).decrementRef();
       try {
@@ -132,6 +145,11 @@ public class ConnectionPoolFactory extends BasePooledObjectFactory<Connection> {
         } catch (IOException ioe) {
           log.error("Failure during closure of a connection.", ioe);
         }
+        event.end();
+        if (event.shouldCommit()) {
+          event.host = sessionIdentifier.getHostAddress().toString();
+          event.commit();
+        }
       }
     }
   }
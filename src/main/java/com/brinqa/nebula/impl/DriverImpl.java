@@ -17,15 +17,35 @@ package com.brinqa.nebula.impl;
 
 import com.brinqa.nebula.DriverConfig;
 import com.brinqa.nebula.impl.async.AsyncSessionImpl;
+import com.brinqa.nebula.impl.batch.BatchWriter;
+import com.brinqa.nebula.impl.batch.ImportJob;
+import com.brinqa.nebula.impl.batch.ImportPipeline;
+import com.brinqa.nebula.impl.batch.ImportStats;
 import com.brinqa.nebula.impl.rx.RxSessionImpl;
+import com.brinqa.nebula.impl.scan.ScanRequest;
+import com.brinqa.nebula.impl.scan.StorageScanner;
+import com.brinqa.nebula.impl.schema.SchemaCache;
+import com.brinqa.nebula.impl.schema.SpaceSchema;
+import com.brinqa.nebula.impl.stats.QueryStatsRegistry;
+import com.brinqa.nebula.impl.stats.SlowQueryLog;
+import com.brinqa.nebula.impl.stats.WriteCounters;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.vesoft.nebula.client.storage.StorageClient;
+import io.reactivex.Flowable;
 import java.net.UnknownHostException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.neo4j.driver.Driver;
-import org.neo4j.driver.Metrics;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.async.AsyncSession;
 import org.neo4j.driver.exceptions.ClientException;
 import org.neo4j.driver.reactive.RxSession;
@@ -34,12 +54,50 @@ import org.neo4j.driver.types.TypeSystem;
 @Slf4j
 public class DriverImpl implements Driver {
 
+  @Getter(AccessLevel.PACKAGE)
   private final DriverConfig driverConfig;
+
+  @Getter(AccessLevel.PACKAGE)
   private final ConnectionPool pool;
 
+  /** Runs the background work of the driver, e.g. concurrent batches, bounded by each caller. */
+  @Getter(AccessLevel.PACKAGE)
+  private final ExecutorService executor;
+
+  @Getter(AccessLevel.PACKAGE)
+  private final ResultCache resultCache;
+
+  @Getter(AccessLevel.PACKAGE)
+  private final QueryCoalescer queryCoalescer;
+
+  private final MetricsImpl metrics;
+
+  @Getter(AccessLevel.PACKAGE)
+  private final SchemaCache schemaCache;
+
+  @Getter(AccessLevel.PACKAGE)
+  private final ResultSpiller resultSpiller;
+
+  private final QueryStatsRegistry queryStats;
+
+  @Getter(AccessLevel.PACKAGE)
+  private final SlowQueryLog slowQueryLog;
+
+  private final WriteCounters writeCounters = new WriteCounters();
+
   public DriverImpl(final DriverConfig driverConfig) throws UnknownHostException {
     this.driverConfig = driverConfig;
     this.pool = new ConnectionPool(driverConfig);
+    this.executor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("nebula-driver-%d").build());
+    this.resultCache = new ResultCache(driverConfig);
+    this.queryCoalescer = new QueryCoalescer(driverConfig);
+    this.metrics = new MetricsImpl();
+    this.resultSpiller = new ResultSpiller(driverConfig, metrics);
+    this.schemaCache = new SchemaCache(driverConfig);
+    this.queryStats = new QueryStatsRegistry(driverConfig.getQueryStatsMaxEntries());
+    this.slowQueryLog = new SlowQueryLog(driverConfig);
   }
 
   /**
@@ -132,7 +190,7 @@ public class DriverImpl implements Driver {
    */
   @Override
   public AsyncSession asyncSession(SessionConfig sessionConfig) {
-    return new AsyncSessionImpl(driverConfig, newSession(sessionConfig));
+    return new AsyncSessionImpl(driverConfig, newSession(sessionConfig), executor);
   }
 
   /**
@@ -143,6 +201,8 @@ public class DriverImpl implements Driver {
    */
   @Override
   public void close() {
+    this.executor.shutdown();
+    this.slowQueryLog.close();
     this.pool.close();
   }
 
@@ -171,8 +231,8 @@ public class DriverImpl implements Driver {
    * @throws ClientException if the driver metrics reporting is not enabled.
    */
   @Override
-  public Metrics metrics() {
-    return null;
+  public MetricsImpl metrics() {
+    return metrics;
   }
 
   /**
@@ -182,7 +242,26 @@ public class DriverImpl implements Driver {
    */
   @Override
   public boolean isMetricsEnabled() {
-    return false;
+    return true;
+  }
+
+  /**
+   * Statistics of the queries executed by all the sessions of this driver, grouped by the shape of
+   * the query regardless of its literals.
+   *
+   * @return the query statistics, empty unless enabled in the driver configuration.
+   */
+  public QueryStatsRegistry queryStats() {
+    return queryStats;
+  }
+
+  /**
+   * Totals of the vertices, edges, tags and properties written by all the sessions of this driver.
+   *
+   * @return the write counters.
+   */
+  public WriteCounters writeCounters() {
+    return writeCounters;
   }
 
   /**
@@ -258,10 +337,132 @@ public class DriverImpl implements Driver {
     return CompletableFuture.completedFuture(true);
   }
 
+  /**
+   * Create a new {@link BatchWriter} for the default space that coalesces vertices and edges into
+   * multi-row INSERT statements.
+   *
+   * @return a new {@link BatchWriter} object.
+   */
+  public BatchWriter batchWriter() {
+    return batchWriter(SessionConfig.defaultConfig());
+  }
+
+  /**
+   * Create a new {@link BatchWriter} that coalesces vertices and edges into multi-row INSERT
+   * statements, executing several statements concurrently across the connection pool.
+   *
+   * @param sessionConfig specifies the space to write to.
+   * @return a new {@link BatchWriter} object.
+   */
+  public BatchWriter batchWriter(SessionConfig sessionConfig) {
+    final var session = newSession(sessionConfig);
+    return new BatchWriter(driverConfig, session, schema(session), executor);
+  }
+
+  /**
+   * Scan every row of a tag or edge type of the default space directly from the storage service.
+   *
+   * @param request tag or edge type to scan.
+   * @return cold stream of the rows as records.
+   */
+  public Flowable<Record> scan(ScanRequest request) {
+    return scan(SessionConfig.defaultConfig(), request);
+  }
+
+  /**
+   * Scan every row of a tag or edge type directly from the storage service, reading several
+   * partitions concurrently. Requires {@link DriverConfig#getMetaAddresses()}.
+   *
+   * @param sessionConfig specifies the space to scan.
+   * @param request tag or edge type to scan, and the partitions already completed.
+   * @return cold stream of the rows as records.
+   */
+  public Flowable<Record> scan(SessionConfig sessionConfig, ScanRequest request) {
+    final var scanner = new StorageScanner(executor, driverConfig.getScanParallelism());
+    return Flowable.using(
+        this::newStorageClient,
+        client -> {
+          final var spaceName = sessionConfig.database().orElse(driverConfig.getSpaceName());
+          return scanner.scan(client, spaceName, partitions(sessionConfig), request);
+        },
+        StorageClient::close);
+  }
+
+  /**
+   * Import a file of vertices or edges into the default space.
+   *
+   * @param job file and how its columns map to the tag or edge type.
+   * @return rows imported and the throughput.
+   */
+  public ImportStats importFile(ImportJob job) {
+    return importFile(SessionConfig.defaultConfig(), job);
+  }
+
+  /**
+   * Import a file of vertices or edges as batched INSERT statements, parsing and writing several
+   * chunks of the file concurrently. Blocks until the whole file is imported.
+   *
+   * @param sessionConfig specifies the space to import into.
+   * @param job file and how its columns map to the tag or edge type.
+   * @return rows imported and the throughput.
+   */
+  public ImportStats importFile(SessionConfig sessionConfig, ImportJob job) {
+    try (final var session = newSession(sessionConfig)) {
+      final var pipeline =
+          new ImportPipeline(
+              driverConfig,
+              job,
+              schema(session),
+              query -> session.executeQuery(query, TransactionConfig.empty()),
+              executor);
+      return pipeline.run();
+    }
+  }
+
   // ===========================================================================
   // Internal Methods
   // ===========================================================================
 
+  /**
+   * Resolve the schema of the space of a session, cached for the configured time.
+   *
+   * @param session session of the space, runs the DESCRIBE queries on a miss.
+   * @return the schema, {@link SpaceSchema#EMPTY} if it could not be loaded.
+   */
+  SpaceSchema schema(SessionImpl session) {
+    return schemaCache.get(
+        session.getSpaceName(), query -> session.executeQuery(query, TransactionConfig.empty()));
+  }
+
+  /** Connect a storage client through the meta service, the caller closes it. */
+  StorageClient newStorageClient() throws Exception {
+    final var metaAddresses = driverConfig.getMetaAddresses();
+    if (metaAddresses.isEmpty()) {
+      throw new ClientException("Meta addresses are required to scan the storage.");
+    }
+    final int timeout =
+        driverConfig.getTimeout() <= 0 ? Integer.MAX_VALUE : driverConfig.getTimeout();
+    final var client =
+        new StorageClient(
+            metaAddresses,
+            timeout,
+            driverConfig.getMaxRetries(),
+            driverConfig.getMaxRetries(),
+            driverConfig.isEnableSsl(),
+            driverConfig.getSslParam());
+    if (!client.connect()) {
+      throw new ClientException("Unable to connect to Storage server.");
+    }
+    return client;
+  }
+
+  /** List the partitions of the space of a session configuration. */
+  List<Integer> partitions(SessionConfig config) {
+    try (final var session = newSession(config)) {
+      return session.run("SHOW PARTS").list(record -> record.get(0).asInt());
+    }
+  }
+
   /**
    * Build a session rotate through the available addresses upto 2x per address to fine a proper
    * session.
@@ -270,7 +471,7 @@ public class DriverImpl implements Driver {
     // create new session
     try {
       final var spaceName = config.database().orElse(driverConfig.getSpaceName());
-      return new SessionImpl(this.pool, spaceName);
+      return new SessionImpl(this, spaceName);
     } catch (Exception e) {
       throw new RuntimeException("Get session failed: " + e.getMessage());
     }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.value.ListValue;
+
+/**
+ * Split a read query with a huge list parameter, e.g. {@code WHERE id(n) IN $ids}, into queries
+ * over chunks of the list. Only a parameter referenced exactly once, as the list of a positive
+ * {@code IN} predicate that is a top level {@code AND} conjunct of the only {@code WHERE} of the
+ * query, is split: each row then depends on a single element of the list, so the records of the
+ * chunks concatenated are the records of the original query.
+ *
+ * <p>That is not true of a negated predicate, e.g. {@code NOT IN $ids}, where every chunk returns
+ * the rows outside of it, of a disjunction, e.g. {@code IN $ids OR n.x == 1}, or an {@code OPTIONAL
+ * MATCH}, where every chunk returns the other rows again, of a parameter referenced twice, where
+ * the pairs of elements of distinct chunks are lost, or of any other use of the list, e.g. {@code
+ * size($ids)}. Neither is it once rows are combined, so queries that aggregate, deduplicate, sort
+ * or page are never split.
+ */
+public class ListParameterChunker {
+
+  private static final Pattern COMBINES_ROWS =
+      Pattern.compile(
+          "\\b(?:ORDER\\s+BY|GROUP\\s+BY|LIMIT|SKIP|OFFSET|SAMPLE|DISTINCT"
+              + "|(?:count|sum|avg|min|max|std|collect|collect_set|bit_and|bit_or|bit_xor)\\s*\\()",
+          Pattern.CASE_INSENSITIVE);
+
+  // rows that do not depend on the list, returned again by every chunk
+  private static final Pattern REPEATS_ROWS =
+      Pattern.compile("\\b(?:OR|XOR|OPTIONAL)\\b", Pattern.CASE_INSENSITIVE);
+  private static final Pattern WHERE = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+  // clauses that end the condition of a WHERE
+  private static final Pattern END_OF_WHERE =
+      Pattern.compile(
+          "\\b(?:RETURN|WITH|YIELD|MATCH|UNWIND|CALL)\\b|\\|", Pattern.CASE_INSENSITIVE);
+  private static final Pattern IN = Pattern.compile("\\bIN\\s*$", Pattern.CASE_INSENSITIVE);
+  private static final Pattern NOT = Pattern.compile("\\bNOT\\b", Pattern.CASE_INSENSITIVE);
+  // negation that does not apply to the predicate that follows, e.g. n.a IS NOT NULL
+  private static final Pattern IS_NOT =
+      Pattern.compile("\\bIS\\s+NOT\\b", Pattern.CASE_INSENSITIVE);
+
+  private ListParameterChunker() {}
+
+  /**
+   * Split the largest list parameter of the query in chunks.
+   *
+   * @param query read query to split.
+   * @param chunkSize max number of elements of the list in each chunk.
+   * @return queries over each chunk, or an empty list if the query does not need to be or can not
+   *     be split.
+   */
+  public static List<Query> split(Query query, int chunkSize) {
+    if (chunkSize <= 0) {
+      return List.of();
+    }
+    final var parameters = query.parameters().asMap(value -> value);
+    String name = null;
+    int size = chunkSize;
+    for (var entry : parameters.entrySet()) {
+      if (entry.getValue() instanceof ListValue
+          && entry.getValue().size() > size
+          && isMembership(query.text(), entry.getKey())) {
+        name = entry.getKey();
+        size = entry.getValue().size();
+      }
+    }
+    if (null == name
+        || COMBINES_ROWS.matcher(query.text()).find()
+        || REPEATS_ROWS.matcher(query.text()).find()) {
+      return List.of();
+    }
+    final var queries = new ArrayList<Query>();
+    final var list = parameters.get(name).asList(value -> value);
+    for (List<Value> chunk : Lists.partition(list, chunkSize)) {
+      final var chunkParameters = new HashMap<>(parameters);
+      chunkParameters.put(name, Values.value(chunk));
+      queries.add(query.withParameters(Values.value(chunkParameters)));
+    }
+    return queries;
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  /**
+   * @return true if the parameter is referenced exactly once, as the list of an {@code IN}
+   *     predicate with no {@code NOT} before it, at the top level of the only {@code WHERE}.
+   */
+  static boolean isMembership(String text, String name) {
+    final var reference = Pattern.compile("\\$" + Pattern.quote(name) + "(?![\\w])");
+    final var matcher = reference.matcher(text);
+    if (!matcher.find()) {
+      return false;
+    }
+    final int start = matcher.start();
+    if (matcher.find()) {
+      return false;
+    }
+    final var before = text.substring(0, start);
+    if (!IN.matcher(before).find() || !isTopLevelOfWhere(text, start)) {
+      return false;
+    }
+    // conservative, any negation before the predicate may apply to it, e.g. NOT (a AND b IN $ids)
+    return !NOT.matcher(IS_NOT.matcher(before).replaceAll(" ")).find();
+  }
+
+  /**
+   * @return true if the position is in the condition of the only {@code WHERE} of the query, out of
+   *     any parentheses, so with {@code OR} and {@code XOR} rejected it is an {@code AND} conjunct.
+   */
+  static boolean isTopLevelOfWhere(String text, int position) {
+    final var matcher = WHERE.matcher(text);
+    if (!matcher.find()) {
+      return false;
+    }
+    final int where = matcher.end();
+    if (matcher.find() || where > position) {
+      return false;
+    }
+    final var condition = text.substring(where, position);
+    if (END_OF_WHERE.matcher(condition).find()) {
+      return false;
+    }
+    int depth = 0;
+    for (int i = 0; i < condition.length(); i++) {
+      final char c = condition.charAt(i);
+      if (c == '(' || c == '[' || c == '{') {
+        depth++;
+      } else if (c == ')' || c == ']' || c == '}') {
+        depth--;
+      }
+    }
+    return depth == 0;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.exceptions.NoSuchRecordException;
+import org.neo4j.driver.summary.ResultSummary;
+
+/**
+ * Result over records that have already been converted, e.g. a cached result. The records are
+ * immutable so several results may share them, each with its own position.
+ */
+public class MaterializedResult implements Result {
+
+  private final List<String> keys;
+  private final List<Record> records;
+  private final ResultSummary resultSummary;
+  // approximate bytes received from the server for this result, 0 for shared results
+  private final long receivedBytes;
+
+  private final AtomicInteger index = new AtomicInteger();
+
+  public MaterializedResult(List<String> keys, List<Record> records, ResultSummary resultSummary) {
+    this(keys, records, resultSummary, 0L);
+  }
+
+  public MaterializedResult(
+      List<String> keys, List<Record> records, ResultSummary resultSummary, long receivedBytes) {
+    this.keys = keys;
+    this.records = records;
+    this.resultSummary = resultSummary;
+    this.receivedBytes = receivedBytes;
+  }
+
+  /**
+   * Convert all the remaining records of a result.
+   *
+   * @param result result to exhaust.
+   * @return result over the immutable records.
+   */
+  public static MaterializedResult of(Result result) {
+    if (result instanceof MaterializedResult) {
+      // already converted, e.g. spilled to disk, so share the records rather than copy them
+      final var materialized = (MaterializedResult) result;
+      return new MaterializedResult(
+          materialized.keys,
+          materialized.list(),
+          materialized.consume(),
+          materialized.receivedBytes);
+    }
+    final long receivedBytes =
+        result instanceof ResultImpl ? ((ResultImpl) result).estimatedSize() : 0L;
+    final var records = List.copyOf(result.list());
+    return new MaterializedResult(result.keys(), records, result.consume(), receivedBytes);
+  }
+
+  /**
+   * @return a new result over the same records positioned at the first record, nothing is received
+   *     for it.
+   */
+  public MaterializedResult share() {
+    return new MaterializedResult(keys, records, resultSummary);
+  }
+
+  /**
+   * @return number of records of this result, read or not.
+   */
+  int size() {
+    return records.size();
+  }
+
+  /**
+   * @return approximate size in bytes of the values received from the server for this result.
+   */
+  long receivedBytes() {
+    return receivedBytes;
+  }
+
+  @Override
+  public List<String> keys() {
+    return keys;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return index.get() < records.size();
+  }
+
+  @Override
+  public Record next() {
+    final int idx = index.getAndIncrement();
+    if (idx < records.size()) {
+      return records.get(idx);
+    }
+    index.set(records.size());
+    throw new NoSuchRecordException("No more records left.");
+  }
+
+  @Override
+  public Record single() throws NoSuchRecordException {
+    final int size = records.size() - index.getAndSet(records.size());
+    if (size != 1) {
+      throw new NoSuchRecordException("Invalid number of records returned: " + size);
+    }
+    return records.get(records.size() - 1);
+  }
+
+  @Override
+  public Record peek() {
+    final int idx = index.get();
+    if (idx >= records.size()) {
+      throw new NoSuchRecordException("No more records left.");
+    }
+    return records.get(idx);
+  }
+
+  @Override
+  public Stream<Record> stream() {
+    return list().stream();
+  }
+
+  @Override
+  public List<Record> list() {
+    final int idx = index.getAndSet(records.size());
+    return records.subList(Math.min(idx, records.size()), records.size());
+  }
+
+  @Override
+  public <T> List<T> list(Function<Record, T> mapFunction) {
+    return list().stream().map(mapFunction).collect(Collectors.toList());
+  }
+
+  @Override
+  public ResultSummary consume() {
+    index.set(records.size());
+    return resultSummary;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Metrics;
+
+/** Driver wide counters, in addition to the Neo4j metrics. */
+public class MetricsImpl implements Metrics {
+
+  private final AtomicLong spilledResults = new AtomicLong();
+  private final AtomicLong spilledRows = new AtomicLong();
+  private final AtomicLong spilledBytes = new AtomicLong();
+
+  /**
+   * @return the Nebula connection pool is not broken down by address, so no pool metrics.
+   */
+  @Override
+  public Collection<ConnectionPoolMetrics> connectionPoolMetrics() {
+    return List.of();
+  }
+
+  /**
+   * @return number of results spilled to disk.
+   */
+  public long spilledResults() {
+    return spilledResults.get();
+  }
+
+  /**
+   * @return number of rows spilled to disk.
+   */
+  public long spilledRows() {
+    return spilledRows.get();
+  }
+
+  /**
+   * @return number of bytes written to spill files.
+   */
+  public long spilledBytes() {
+    return spilledBytes.get();
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  void recordSpill(long rows, long bytes) {
+    spilledResults.incrementAndGet();
+    spilledRows.addAndGet(rows);
+    spilledBytes.addAndGet(bytes);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.value.NullValue;
+import org.neo4j.driver.types.Entity;
+
+/**
+ * Lazy view over the properties of a Nebula vertex or edge. Only the property names are indexed on
+ * first access, a value is converted when it is read and then kept, so reading a few properties of
+ * a wide vertex does not convert all of them.
+ */
+abstract class NebulaEntity implements Entity {
+
+  // property name to raw value, shared by any threads reading a cached result
+  private volatile Map<String, ValueWrapper> raw;
+  private final Map<String, Value> converted = new ConcurrentHashMap<>();
+
+  /**
+   * @return raw values of the properties by name.
+   */
+  abstract Map<String, ValueWrapper> loadProperties();
+
+  @Override
+  public Iterable<String> keys() {
+    return Collections.unmodifiableSet(properties().keySet());
+  }
+
+  @Override
+  public boolean containsKey(String key) {
+    return properties().containsKey(key);
+  }
+
+  @Override
+  public Value get(String key) {
+    final var value = properties().get(key);
+    if (null == value) {
+      return NullValue.NULL;
+    }
+    return converted.computeIfAbsent(key, k -> NebulaToNeo4jConverter.toValue(value));
+  }
+
+  @Override
+  public int size() {
+    return properties().size();
+  }
+
+  @Override
+  public Iterable<Value> values() {
+    return values(Function.identity());
+  }
+
+  @Override
+  public <T> Iterable<T> values(Function<Value, T> mapFunction) {
+    final List<T> ret = new ArrayList<>(size());
+    for (String key : properties().keySet()) {
+      ret.add(mapFunction.apply(get(key)));
+    }
+    return ret;
+  }
+
+  @Override
+  public Map<String, Object> asMap() {
+    return asMap(Values.ofObject());
+  }
+
+  @Override
+  public <T> Map<String, T> asMap(Function<Value, T> mapFunction) {
+    final Map<String, T> ret = new HashMap<>();
+    for (String key : properties().keySet()) {
+      ret.put(key, mapFunction.apply(get(key)));
+    }
+    return Collections.unmodifiableMap(ret);
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  Map<String, ValueWrapper> properties() {
+    var ret = raw;
+    if (null == ret) {
+      // loading is idempotent, racing threads may both load it
+      ret = loadProperties();
+      raw = ret;
+    }
+    return ret;
+  }
+}
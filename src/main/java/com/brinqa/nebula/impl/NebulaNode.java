@@ -15,135 +15,80 @@
  */
 package com.brinqa.nebula.impl;
 
+import com.vesoft.nebula.client.graph.data.Node;
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
-import org.neo4j.driver.Value;
-import org.neo4j.driver.types.Node;
 
-/** Nebula has the */
-public class NebulaNode implements Node {
+/**
+ * Neo4j node view of a Nebula vertex, the tags are the labels and the properties of all tags are
+ * merged, the first tag wins for a property declared by several tags. Properties are converted
+ * lazily.
+ */
+public class NebulaNode extends NebulaEntity implements org.neo4j.driver.types.Node {
 
-  /**
-   * A unique id for this Entity. Ids are guaranteed to remain stable for the duration of the
-   * session they were found in, but may be re-used for other entities after that. As such, if you
-   * want a public identity to use for your entities, attaching an explicit 'id' property or similar
-   * persistent and unique identifier is a better choice.
-   *
-   * @return the id of this entity
-   */
-  @Override
-  public long id() {
-    return 0;
-  }
+  private final Node node;
 
-  /**
-   * Retrieve the keys of the underlying map
-   *
-   * @return all map keys in unspecified order
-   */
-  @Override
-  public Iterable<String> keys() {
-    return null;
+  public NebulaNode(Node node) {
+    this.node = node;
   }
 
   /**
-   * Check if the list of keys contains the given key
+   * The vertex ID, Neo4j IDs are numbers so this is only valid for spaces with integer VIDs.
    *
-   * @param key the key
-   * @return {@code true} if this map keys contains the given key otherwise {@code false}
+   * @return the id of this entity
    */
   @Override
-  public boolean containsKey(String key) {
-    return false;
+  public long id() {
+    return node.getId().asLong();
   }
 
-  /**
-   * Retrieve the value of the property with the given key
-   *
-   * @param key the key of the property
-   * @return the property's value or a {@link NullValue} if no such key exists
-   * @throws ClientException if record has not been initialized
-   */
   @Override
-  public Value get(String key) {
-    return null;
+  public Iterable<String> labels() {
+    return node.labels();
   }
 
-  /**
-   * Retrieve the number of entries in this map
-   *
-   * @return the number of entries in this map
-   */
   @Override
-  public int size() {
-    return 0;
-  }
-
-  /**
-   * Retrieve all values of the underlying collection
-   *
-   * @return all values in unspecified order
-   */
-  @Override
-  public Iterable<Value> values() {
-    return null;
+  public boolean hasLabel(String label) {
+    return node.hasLabel(label);
   }
 
-  /**
-   * Map and retrieve all values of the underlying collection
-   *
-   * @param mapFunction a function to map from Value to T. See {@link Values} for some predefined
-   *     functions, such as {@link Values#ofBoolean()}, {@link Values#ofList(Function)}.
-   * @return the result of mapping all values in unspecified order
-   */
   @Override
-  public <T> Iterable<T> values(Function<Value, T> mapFunction) {
-    return null;
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return node.getId().equals(((NebulaNode) o).node.getId());
   }
 
-  /**
-   * Return the underlying map as a map of string keys and values converted using {@link
-   * Value#asObject()}.
-   *
-   * <p>This is equivalent to calling {@link #asMap(Function)} with {@link Values#ofObject()}.
-   *
-   * @return the value as a Java map
-   */
   @Override
-  public Map<String, Object> asMap() {
-    return null;
+  public int hashCode() {
+    return node.getId().hashCode();
   }
 
-  /**
-   * @param mapFunction a function to map from Value to T. See {@link Values} for some predefined
-   *     functions, such as {@link Values#ofBoolean()}, {@link Values#ofList(Function)}.
-   * @return the value as a map from string keys to values of type T obtained from mapping he
-   *     original map values, if possible
-   * @see Values for a long list of built-in conversion functions
-   */
   @Override
-  public <T> Map<String, T> asMap(Function<Value, T> mapFunction) {
-    return null;
+  public String toString() {
+    return String.format("node<%s>", node.getId());
   }
 
-  /**
-   * Return all labels.
-   *
-   * @return a label Collection
-   */
-  @Override
-  public Iterable<String> labels() {
-    return null;
-  }
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
 
-  /**
-   * Test if this node has a given label
-   *
-   * @param label the label
-   * @return {@code true} if this node has the label otherwise {@code false}
-   */
   @Override
-  public boolean hasLabel(String label) {
-    return false;
+  Map<String, ValueWrapper> loadProperties() {
+    final var ret = new HashMap<String, ValueWrapper>();
+    try {
+      for (String label : node.labels()) {
+        node.properties(label).forEach(ret::putIfAbsent);
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalArgumentException(e);
+    }
+    return ret;
   }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.vesoft.nebula.graph.PlanDescription;
+import com.vesoft.nebula.graph.PlanNodeDescription;
+import com.vesoft.nebula.graph.ProfilingStats;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.summary.ProfiledPlan;
+
+/**
+ * Operator of the plan Nebula describes for a query run with {@code EXPLAIN} or {@code PROFILE}.
+ * The description of the operator and its profiling statistics become its arguments, the output
+ * variable its identifier, its dependencies and the branches of a loop or select its children.
+ *
+ * <p>A profiled operator sums the statistics of all its executions, e.g. in a loop. The records are
+ * the rows the operator produced and the time it spent executing, unit: microsecond as reported by
+ * Nebula. Nebula reports neither database hits nor page cache statistics.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class NebulaPlan implements ProfiledPlan {
+  private final String operatorType;
+  private final Map<String, Value> arguments;
+  private final List<String> identifiers;
+  private final List<ProfiledPlan> children;
+  private final long records;
+  private final long time;
+
+  /**
+   * @param description plan description of a response, may be null.
+   * @return the root operator of the plan, null if there is none.
+   */
+  public static NebulaPlan of(PlanDescription description) {
+    if (null == description || null == description.getPlan_node_descs()) {
+      return null;
+    }
+    final var nodes = new LinkedHashMap<Long, PlanNodeDescription>();
+    final var children = new HashMap<Long, List<Long>>();
+    for (var node : description.getPlan_node_descs()) {
+      nodes.put(node.getId(), node);
+      final var ids = children.computeIfAbsent(node.getId(), id -> new ArrayList<>());
+      if (null != node.getDependencies()) {
+        ids.addAll(node.getDependencies());
+      }
+    }
+    // the branches of a loop or select refer to it rather than the other way around
+    for (var node : nodes.values()) {
+      final var branch = node.getBranch_info();
+      if (null != branch && children.containsKey(branch.getCondition_node_id())) {
+        children.get(branch.getCondition_node_id()).add(node.getId());
+      }
+    }
+    final var referenced = new HashSet<Long>();
+    children.values().forEach(referenced::addAll);
+    for (var id : nodes.keySet()) {
+      if (!referenced.contains(id)) {
+        return build(id, nodes, children, new HashMap<>(), new HashSet<>());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param description plan description of a response, may be null.
+   * @return true if any operator of the plan was profiled.
+   */
+  public static boolean isProfiled(PlanDescription description) {
+    return null != description
+        && null != description.getPlan_node_descs()
+        && description.getPlan_node_descs().stream()
+            .anyMatch(node -> null != node.getProfiles() && !node.getProfiles().isEmpty());
+  }
+
+  @Override
+  public String operatorType() {
+    return operatorType;
+  }
+
+  @Override
+  public Map<String, Value> arguments() {
+    return arguments;
+  }
+
+  @Override
+  public List<String> identifiers() {
+    return identifiers;
+  }
+
+  @Override
+  public List<ProfiledPlan> children() {
+    return children;
+  }
+
+  @Override
+  public long dbHits() {
+    return 0;
+  }
+
+  @Override
+  public long records() {
+    return records;
+  }
+
+  @Override
+  public boolean hasPageCacheStats() {
+    return false;
+  }
+
+  @Override
+  public long pageCacheHits() {
+    return 0;
+  }
+
+  @Override
+  public long pageCacheMisses() {
+    return 0;
+  }
+
+  @Override
+  public double pageCacheHitRatio() {
+    return 0;
+  }
+
+  @Override
+  public long time() {
+    return time;
+  }
+
+  @Override
+  public String toString() {
+    return operatorType + identifiers + arguments;
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static NebulaPlan build(
+      long id,
+      Map<Long, PlanNodeDescription> nodes,
+      Map<Long, List<Long>> children,
+      Map<Long, NebulaPlan> built,
+      Set<Long> visiting) {
+    final var existing = built.get(id);
+    if (null != existing) {
+      // operators shared by several parents are converted once
+      return existing;
+    }
+    visiting.add(id);
+    final var node = nodes.get(id);
+    final var plans = new ArrayList<ProfiledPlan>();
+    for (var child : children.get(id)) {
+      if (nodes.containsKey(child) && !visiting.contains(child)) {
+        plans.add(build(child, nodes, children, built, visiting));
+      }
+    }
+    visiting.remove(id);
+
+    final var arguments = new LinkedHashMap<String, Value>();
+    arguments.put("id", Values.value(id));
+    if (null != node.getDescription()) {
+      for (var pair : node.getDescription()) {
+        arguments.put(text(pair.getKey()), Values.value(text(pair.getValue())));
+      }
+    }
+    long records = 0;
+    long time = 0;
+    long total = 0;
+    final List<ProfilingStats> profiles =
+        null == node.getProfiles() ? List.of() : node.getProfiles();
+    for (var profile : profiles) {
+      records += profile.getRows();
+      time += profile.getExec_duration_in_us();
+      total += profile.getTotal_duration_in_us();
+      if (null != profile.getOther_stats()) {
+        profile
+            .getOther_stats()
+            .forEach((key, value) -> arguments.put(text(key), Values.value(text(value))));
+      }
+    }
+    if (!profiles.isEmpty()) {
+      arguments.put("executions", Values.value(profiles.size()));
+      arguments.put("rows", Values.value(records));
+      arguments.put("execDurationInUs", Values.value(time));
+      arguments.put("totalDurationInUs", Values.value(total));
+    }
+    final var identifiers =
+        null == node.getOutput_var() ? List.<String>of() : List.of(text(node.getOutput_var()));
+    final var ret =
+        new NebulaPlan(
+            text(node.getName()),
+            Collections.unmodifiableMap(arguments),
+            identifiers,
+            List.copyOf(plans),
+            records,
+            time);
+    built.put(id, ret);
+    return ret;
+  }
+
+  static String text(byte[] bytes) {
+    return null == bytes ? "" : new String(bytes, UTF_8);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.vesoft.nebula.client.graph.data.Relationship;
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+import java.util.Objects;
+
+/** Neo4j relationship view of a Nebula edge, properties are converted lazily. */
+public class NebulaRelationship extends NebulaEntity
+    implements org.neo4j.driver.types.Relationship {
+
+  private final Relationship relationship;
+
+  public NebulaRelationship(Relationship relationship) {
+    this.relationship = relationship;
+  }
+
+  /**
+   * Nebula edges have no ID, they are identified by source, destination, type and rank.
+   *
+   * @return {@link Long#MAX_VALUE}
+   */
+  @Override
+  public long id() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public long startNodeId() {
+    return relationship.srcId().asLong();
+  }
+
+  @Override
+  public long endNodeId() {
+    return relationship.dstId().asLong();
+  }
+
+  @Override
+  public String type() {
+    return relationship.edgeName();
+  }
+
+  @Override
+  public boolean hasType(String relationshipType) {
+    return type().equals(relationshipType);
+  }
+
+  /**
+   * @return rank of the edge, distinguishes edges of the same type between the same vertices.
+   */
+  public long rank() {
+    return relationship.ranking();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final var that = ((NebulaRelationship) o).relationship;
+    return relationship.srcId().equals(that.srcId())
+        && relationship.dstId().equals(that.dstId())
+        && relationship.ranking() == that.ranking()
+        && relationship.edgeName().equals(that.edgeName());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        relationship.srcId(),
+        relationship.dstId(),
+        relationship.edgeName(),
+        relationship.ranking());
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "relationship<%s-[:%s@%d]->%s>",
+        relationship.srcId(), type(), relationship.ranking(), relationship.dstId());
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  @Override
+  Map<String, ValueWrapper> loadProperties() {
+    try {
+      return relationship.properties();
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
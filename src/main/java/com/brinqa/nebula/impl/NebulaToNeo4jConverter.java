@@ -39,13 +39,10 @@ import java.util.AbstractMap.SimpleEntry;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.neo4j.driver.internal.InternalIsoDuration;
-import org.neo4j.driver.internal.InternalNode;
 import org.neo4j.driver.internal.InternalPath;
-import org.neo4j.driver.internal.InternalRelationship;
 import org.neo4j.driver.internal.value.BooleanValue;
 import org.neo4j.driver.internal.value.DateTimeValue;
 import org.neo4j.driver.internal.value.DateValue;
@@ -128,6 +125,21 @@ public class NebulaToNeo4jConverter {
     }
   }
 
+  /**
+   * Translate a cell of a result, strings are kept as their UTF-8 bytes if asked to.
+   *
+   * @param valueWrapper nebula value.
+   * @param lazyStrings true to convert a string to a {@link Utf8StringValue}.
+   * @return neo4j value.
+   */
+  public static ValueAdapter toValue(final ValueWrapper valueWrapper, boolean lazyStrings) {
+    final var value = valueWrapper.getValue();
+    if (lazyStrings && null != value && value.getSetField() == Value.SVAL) {
+      return new Utf8StringValue(value.getSVal());
+    }
+    return toValue(valueWrapper);
+  }
+
   public static MapValue toMapValue(Map<String, ValueWrapper> map) {
     final Map<String, org.neo4j.driver.Value> ret =
         map.entrySet().stream()
@@ -187,22 +199,7 @@ public class NebulaToNeo4jConverter {
   }
 
   public static NodeValue toNodeValue(Node n) {
-    final var labels = n.labels();
-    final var map =
-        labels.stream()
-            .flatMap(
-                label -> {
-                  try {
-                    return n.properties(label).entrySet().stream();
-                  } catch (UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e);
-                  }
-                })
-            .map(NebulaToNeo4jConverter::toEntry)
-            .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (value, value2) -> value));
-    // find the ID, this is tricky as this will be the BRINQA ID
-    final long id = n.getId().asLong();
-    return new NodeValue(new InternalNode(id, n.labels(), map));
+    return new NodeValue(new NebulaNode(n));
   }
 
   public static RelationshipValue toRelationshipValue(final ValueWrapper valueWrapper) {
@@ -211,21 +208,7 @@ public class NebulaToNeo4jConverter {
   }
 
   public static RelationshipValue toRelationshipValue(final Relationship relationship) {
-    try {
-      final var map =
-          relationship.properties().entrySet().stream()
-              .map(NebulaToNeo4jConverter::toEntry)
-              .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (value, value2) -> value));
-      // NOTE: using Neo4j concept of ID based on Brinqa providing an ID
-      final var srcId = relationship.srcId().asLong();
-      final var destId = relationship.dstId().asLong();
-      final var type = relationship.edgeName();
-      // NOTE: there's no `id` for a relationship
-      final var rel = new InternalRelationship(Long.MAX_VALUE, srcId, destId, type, map);
-      return new RelationshipValue(rel);
-    } catch (UnsupportedEncodingException e) {
-      throw new IllegalStateException(e);
-    }
+    return new RelationshipValue(new NebulaRelationship(relationship));
   }
 
   public static PathValue toPathValue(final ValueWrapper valueWrapper) {
@@ -259,10 +242,4 @@ public class NebulaToNeo4jConverter {
     final var rel = toRelationshipValue(s.getRelationShip()).asRelationship();
     return new InternalPath.SelfContainedSegment(src, rel, dest);
   }
-
-  static Map.Entry<String, org.neo4j.driver.Value> toEntry(Map.Entry<String, ValueWrapper> p) {
-    final var key = p.getKey();
-    final var value = NebulaToNeo4jConverter.toValue(p.getValue());
-    return new SimpleEntry<>(key, value);
-  }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.Value;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.exceptions.NoSuchRecordException;
+import org.neo4j.driver.summary.ResultSummary;
+
+/**
+ * Streaming result of a query fetched a page at a time, so only a couple of pages are ever held in
+ * memory on either side. The next page is fetched in the background while the current page is
+ * consumed. No page is fetched until the result is first read or consumed.
+ *
+ * <p>The summary is the summary of the last page fetched. This class is not thread safe.
+ */
+public class PagedResult implements Result {
+  private static final Set<String> CYPHER_KEYWORDS =
+      Set.of("MATCH", "OPTIONAL", "UNWIND", "WITH", "RETURN");
+  // the pages are limited by appending to the query, which can not be limited already
+  private static final Pattern LIMITED =
+      Pattern.compile("\\b(?:LIMIT|SKIP)\\b", Pattern.CASE_INSENSITIVE);
+
+  private final Query query;
+  private final Pagination pagination;
+  private final Function<Query, Result> run;
+  private final Executor executor;
+
+  private List<String> keys;
+  private ResultSummary summary;
+  private List<Record> page = List.of();
+  private int index;
+  private long offset;
+  private boolean started;
+  private CompletableFuture<Page> next;
+
+  public PagedResult(
+      Query query, Pagination pagination, Function<Query, Result> run, Executor executor) {
+    if (pagination.getPageSize() <= 0) {
+      throw new IllegalArgumentException("Page size must be positive.");
+    }
+    // the key parameter is not optional in the query, a null key would match nothing
+    if (null != pagination.getKeyColumn() && null == pagination.getFirstKey()) {
+      throw new IllegalArgumentException("First key is required to page by key column.");
+    }
+    if (LIMITED.matcher(query.text()).find()) {
+      throw new IllegalArgumentException(
+          "Query to page must not have a LIMIT or SKIP, pages are limited by the page size.");
+    }
+    this.query = query;
+    this.pagination = pagination;
+    this.run = run;
+    this.executor = executor;
+  }
+
+  @Override
+  public List<String> keys() {
+    if (null == keys) {
+      hasNext();
+    }
+    return keys;
+  }
+
+  @Override
+  public boolean hasNext() {
+    start();
+    while (index >= page.size()) {
+      if (null == next) {
+        return false;
+      }
+      advance();
+    }
+    return true;
+  }
+
+  @Override
+  public Record next() {
+    if (hasNext()) {
+      return page.get(index++);
+    }
+    throw new NoSuchRecordException("No more records left.");
+  }
+
+  @Override
+  public Record single() throws NoSuchRecordException {
+    if (!hasNext()) {
+      throw new NoSuchRecordException("Invalid number of records returned: 0");
+    }
+    final var record = next();
+    if (hasNext()) {
+      consume();
+      throw new NoSuchRecordException("Invalid number of records returned, more than 1.");
+    }
+    return record;
+  }
+
+  @Override
+  public Record peek() {
+    if (hasNext()) {
+      return page.get(index);
+    }
+    throw new NoSuchRecordException("Peek ahead of actual size of the index.");
+  }
+
+  @Override
+  public Stream<Record> stream() {
+    final var spliterator =
+        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false);
+  }
+
+  @Override
+  public List<Record> list() {
+    return list(Function.identity());
+  }
+
+  @Override
+  public <T> List<T> list(Function<Record, T> mapFunction) {
+    final var ret = new ArrayList<T>();
+    while (hasNext()) {
+      ret.add(mapFunction.apply(next()));
+    }
+    return ret;
+  }
+
+  @Override
+  public ResultSummary consume() {
+    start();
+    if (null == summary && null != next) {
+      // only the summary of the first page is needed, the page after it is never fetched
+      summary = QueryCoalescer.join(next).summary;
+    }
+    // a page in-flight completes in the background and is dropped
+    next = null;
+    page = List.of();
+    index = 0;
+    return summary;
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  void start() {
+    if (!started) {
+      started = true;
+      next = fetch(pageQuery(pagination.getFirstKey()));
+    }
+  }
+
+  void advance() {
+    final var current = QueryCoalescer.join(next);
+    keys = current.keys;
+    summary = current.summary;
+    page = current.records;
+    index = 0;
+    offset += page.size();
+    // a short page is the last page
+    if (page.size() < pagination.getPageSize()) {
+      next = null;
+    } else {
+      final var keyColumn = pagination.getKeyColumn();
+      final var last = page.get(page.size() - 1);
+      next = fetch(pageQuery(null == keyColumn ? null : last.get(keyColumn).asObject()));
+    }
+  }
+
+  CompletableFuture<Page> fetch(Query pageQuery) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          final var result = run.apply(pageQuery);
+          return new Page(result.keys(), result.list(), result.consume());
+        },
+        executor);
+  }
+
+  Query pageQuery(Object key) {
+    final var size = pagination.getPageSize();
+    final var text = query.text().strip().replaceAll(";+$", "");
+    final var keywords = StatementType.keywords(text);
+    final var cypher =
+        !keywords.isEmpty() && CYPHER_KEYWORDS.contains(keywords.get(keywords.size() - 1));
+    if (null == pagination.getKeyColumn()) {
+      return query.withText(
+          cypher
+              ? text + " SKIP " + offset + " LIMIT " + size
+              : text + " | LIMIT " + offset + ", " + size);
+    }
+    final var parameters = new HashMap<>(query.parameters().asMap());
+    parameters.put(pagination.getKeyParameter(), key);
+    return new Query(cypher ? text + " LIMIT " + size : text + " | LIMIT " + size, parameters);
+  }
+
+  @Value
+  static class Page {
+    List<String> keys;
+    List<Record> records;
+    ResultSummary summary;
+  }
+}
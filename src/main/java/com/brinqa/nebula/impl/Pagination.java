@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Value;
+
+/**
+ * How a query is fetched a page at a time by a {@link PagedResult}.
+ *
+ * <p>By default pages are fetched by offset, appending {@code SKIP/LIMIT} to the query, which is
+ * only consistent if the query has a stable order. With a key column the query is expected to
+ * filter and order by a key parameter, e.g. {@code MATCH (v:Host) WHERE id(v) > $after RETURN v,
+ * id(v) AS vid ORDER BY vid}, which is set to the key of the last record of the previous page and
+ * to the first key for the first page, e.g. {@code -1} or {@code ""}. Either way the query must not
+ * have a {@code LIMIT} or {@code SKIP} of its own.
+ */
+@Value
+@Builder(toBuilder = true)
+public class Pagination {
+  /** Max number of records fetched by each page query. */
+  @Default int pageSize = 10_000;
+  /** Column of the records to page by, pages by offset if not set. */
+  String keyColumn;
+  /** Parameter of the query set to the key of the last record of the previous page. */
+  @Default String keyParameter = "after";
+  /** Value of the key parameter for the first page, required with a key column. */
+  Object firstKey;
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.DriverConfig;
+import com.google.common.base.Throwables;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+
+/**
+ * Single-flight execution of identical read queries. While a query for a space, text and parameters
+ * is in-flight, every other caller with the same query waits for it instead of borrowing another
+ * connection, and all of them share the one converted result.
+ *
+ * <p>Writes through the driver detach the queries in-flight in their space, so a read only ever
+ * joins a query sent after the last write of its caller and never misses it.
+ */
+public class QueryCoalescer {
+
+  private final boolean enabled;
+  private final ConcurrentMap<QueryKey, CompletableFuture<MaterializedResult>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public QueryCoalescer(DriverConfig driverConfig) {
+    this.enabled = driverConfig.isCoalesceReads();
+  }
+
+  /**
+   * @return true if the driver is configured to coalesce reads.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Execute a read query unless an identical one is already in-flight.
+   *
+   * @param spaceName space the query runs in.
+   * @param query read query.
+   * @param loader executes the query.
+   * @return a new result over the shared records.
+   */
+  public Result execute(String spaceName, Query query, Supplier<? extends Result> loader) {
+    final var key = QueryKey.of(spaceName, query);
+    final var future = new CompletableFuture<MaterializedResult>();
+    final var existing = inFlight.putIfAbsent(key, future);
+    if (null != existing) {
+      return join(existing).share();
+    }
+    try {
+      final var result = MaterializedResult.of(loader.get());
+      future.complete(result);
+      // the followers only get shares, this one carries the bytes received
+      return result;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Stop sharing the queries in-flight in a space, they may have been sent before a write.
+   *
+   * @param spaceName space the write ran in.
+   */
+  public void invalidate(String spaceName) {
+    if (enabled) {
+      inFlight.keySet().removeIf(key -> key.getSpaceName().equals(spaceName));
+    }
+  }
+
+  static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+}
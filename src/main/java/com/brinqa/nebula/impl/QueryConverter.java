@@ -23,6 +23,7 @@ import java.util.Date;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.neo4j.driver.Query;
 
@@ -54,7 +55,8 @@ public class QueryConverter {
         final Pattern pattern;
         try {
           pattern = CACHE.get(r, () -> Pattern.compile(r));
-          workingQuery = pattern.matcher(workingQuery).replaceAll(parameterValue);
+          final var replacement = Matcher.quoteReplacement(parameterValue);
+          workingQuery = pattern.matcher(workingQuery).replaceAll(replacement);
         } catch (ExecutionException e) {
           throw new IllegalArgumentException(e.getCause());
         }
@@ -63,12 +65,18 @@ public class QueryConverter {
     return workingQuery;
   }
 
-  static String convertToString(Object value) {
-    if (value instanceof Number) {
+  /**
+   * Render a Java value as an nGQL literal.
+   *
+   * @param value parameter or property value.
+   * @return literal text, {@code NULL} for unsupported values.
+   */
+  public static String convertToString(Object value) {
+    if (value instanceof Number || value instanceof Boolean) {
       return value.toString();
     }
     if (value instanceof String) {
-      return String.format("\"%s\"", value);
+      return String.format("\"%s\"", escape((String) value));
     }
     if (value instanceof Temporal) {
       return toDateTimeParameter((Temporal) value);
@@ -79,6 +87,11 @@ public class QueryConverter {
     return "NULL";
   }
 
+  /** Escape the characters that would otherwise terminate a double quoted string literal. */
+  static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
   static String toDateTimeParameter(Temporal dt) {
     String datetimeString = DATE_TIME_FORMATTER.format(dt);
     return String.format("datetime(\"%s\")", datetimeString);
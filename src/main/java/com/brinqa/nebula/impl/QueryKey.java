@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import lombok.Value;
+import org.neo4j.driver.Query;
+
+/** Identity of a query within a space, used to share results between identical queries. */
+@Value
+public class QueryKey {
+  String spaceName;
+  String text;
+  org.neo4j.driver.Value parameters;
+
+  public static QueryKey of(String spaceName, Query query) {
+    return new QueryKey(spaceName, query.text(), query.parameters());
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.DriverConfig;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.AllArgsConstructor;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+
+/**
+ * Driver wide cache of converted read results keyed by space, query text and parameters. Entries
+ * are weighed by the approximate size of the values received and expire a fixed time after they
+ * were loaded.
+ *
+ * <p>Writes through the driver invalidate entries lazily. Every entry remembers the write
+ * generations of its space and tags from before its query was sent and is dropped on lookup once
+ * any of them moved on. A query that is not limited to specific tags, see {@link StatementTags},
+ * depends on every write to its space and a write that is not limited to specific tags invalidates
+ * every entry of its space.
+ */
+public class ResultCache {
+
+  private final Cache<QueryKey, Entry> cache;
+  private final ConcurrentMap<String, Generations> generations = new ConcurrentHashMap<>();
+
+  public ResultCache(DriverConfig driverConfig) {
+    final long maxBytes = driverConfig.getResultCacheMaxBytes();
+    this.cache =
+        maxBytes <= 0
+            ? null
+            : CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((QueryKey key, Entry entry) -> entry.weight)
+                .expireAfterWrite(driverConfig.getResultCacheTtl(), TimeUnit.MILLISECONDS)
+                .build();
+  }
+
+  /**
+   * @return true if the driver is configured to cache results.
+   */
+  public boolean isEnabled() {
+    return null != cache;
+  }
+
+  /**
+   * Return the cached result of a read query or load and cache it.
+   *
+   * @param spaceName space the query runs in.
+   * @param query read query.
+   * @param loader executes the query.
+   * @return a new result over the cached records.
+   */
+  public Result get(String spaceName, Query query, Supplier<? extends Result> loader) {
+    final var key = QueryKey.of(spaceName, query);
+    final var cached = cache.getIfPresent(key);
+    if (null != cached) {
+      if (cached.stamp.equals(stamp(spaceName, cached.tags))) {
+        return cached.toResult();
+      }
+      cache.asMap().remove(key, cached);
+    }
+    // take the generations before the query is sent so a concurrent write is never missed
+    final var tags = StatementTags.of(query.text());
+    final var tagList = null == tags ? null : List.copyOf(tags);
+    final var stamp = stamp(spaceName, tagList);
+    final var loaded = loader.get();
+    if (!(loaded instanceof ResultImpl)) {
+      // spilled to disk, far too large to cache
+      return loaded;
+    }
+    final var result = (ResultImpl) loaded;
+    final var weight = (int) Math.min(Integer.MAX_VALUE, result.estimatedSize());
+    final var materialized = MaterializedResult.of(result);
+    cache.put(key, new Entry(materialized, weight, tagList, stamp));
+    // the entry only hands out shares, this one carries the bytes received
+    return materialized;
+  }
+
+  /**
+   * Invalidate the entries a write may have changed.
+   *
+   * @param spaceName space the write ran in.
+   * @param text text of the write, used to find the tags it is limited to.
+   */
+  public void invalidate(String spaceName, String text) {
+    if (!isEnabled()) {
+      return;
+    }
+    final Set<String> tags = StatementTags.of(text);
+    final var g = generations.computeIfAbsent(spaceName, s -> new Generations());
+    if (null == tags) {
+      g.wide.incrementAndGet();
+    } else {
+      tags.forEach(tag -> g.tags.computeIfAbsent(tag, t -> new AtomicLong()).incrementAndGet());
+    }
+    g.all.incrementAndGet();
+  }
+
+  /** Invalidate every entry. */
+  public void invalidateAll() {
+    if (isEnabled()) {
+      cache.invalidateAll();
+    }
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  List<Long> stamp(String spaceName, List<String> tags) {
+    final var g = generations.computeIfAbsent(spaceName, s -> new Generations());
+    if (null == tags) {
+      return List.of(g.all.get());
+    }
+    final var ret = new ArrayList<Long>(tags.size() + 1);
+    ret.add(g.wide.get());
+    for (String tag : tags) {
+      final var generation = g.tags.get(tag);
+      ret.add(null == generation ? 0L : generation.get());
+    }
+    return ret;
+  }
+
+  /** Write generations of a space. */
+  static class Generations {
+    /** Bumped by every write. */
+    final AtomicLong all = new AtomicLong();
+    /** Bumped by writes not limited to specific tags. */
+    final AtomicLong wide = new AtomicLong();
+    /** Bumped by writes limited to specific tags. */
+    final ConcurrentMap<String, AtomicLong> tags = new ConcurrentHashMap<>();
+  }
+
+  @AllArgsConstructor
+  static class Entry {
+    final MaterializedResult result;
+    final int weight;
+    final List<String> tags;
+    final List<Long> stamp;
+
+    Result toResult() {
+      return result.share();
+    }
+  }
+}
@@ -15,30 +15,70 @@
  */
 package com.brinqa.nebula.impl;
 
+import com.brinqa.nebula.impl.columnar.ColumnarResult;
+import com.brinqa.nebula.impl.jfr.ConversionEvent;
+import com.brinqa.nebula.impl.tracing.Span;
+import com.brinqa.nebula.impl.tracing.TraceContext;
 import com.vesoft.nebula.client.graph.data.ResultSet;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
-import lombok.AllArgsConstructor;
+import java.util.stream.StreamSupport;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Records;
 import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
 import org.neo4j.driver.exceptions.NoSuchRecordException;
 import org.neo4j.driver.internal.InternalRecord;
-import org.neo4j.driver.internal.value.ValueAdapter;
+import org.neo4j.driver.internal.util.QueryKeys;
 import org.neo4j.driver.summary.ResultSummary;
 
-@AllArgsConstructor
 public class ResultImpl implements Result {
 
   private final ResultSet resultSet;
   private final ResultSummary resultSummary;
+  // shared by all records, name lookups use its index instead of scanning the keys
+  private final QueryKeys queryKeys;
+  // results with more rows are converted in parallel, 0 means never
+  private final int parallelThreshold;
+  // strings of the cells are decoded only when read, see DriverConfig#isLazyStringValues()
+  private final boolean lazyStrings;
+  // span of the run that received this result, the parent of its conversion
+  private final Span span;
+  // estimated once, the rows never change, -1 until then
+  private volatile long estimatedSize = -1L;
 
   // built-in constructor
   private final AtomicInteger index = new AtomicInteger();
+  // records converted by any means, and the conversion they are timed by once started
+  private final AtomicInteger converted = new AtomicInteger();
+  private volatile Conversion conversion;
+
+  public ResultImpl(ResultSet resultSet, ResultSummary resultSummary) {
+    this(resultSet, resultSummary, 0);
+  }
+
+  public ResultImpl(ResultSet resultSet, ResultSummary resultSummary, int parallelThreshold) {
+    this(resultSet, resultSummary, parallelThreshold, false);
+  }
+
+  public ResultImpl(
+      ResultSet resultSet,
+      ResultSummary resultSummary,
+      int parallelThreshold,
+      boolean lazyStrings) {
+    this.resultSet = resultSet;
+    this.resultSummary = resultSummary;
+    this.queryKeys = new QueryKeys(resultSet.getColumnNames());
+    this.parallelThreshold = parallelThreshold;
+    this.lazyStrings = lazyStrings;
+    this.span = TraceContext.current();
+  }
 
   /**
    * Retrieve the keys of the records this result contains.
@@ -69,7 +109,10 @@ public class ResultImpl implements Result {
   @Override
   public Record next() {
     if (hasNext()) {
-      return get(index.getAndIncrement());
+      startConversion();
+      final var record = get(index.getAndIncrement());
+      converted(1);
+      return record;
     }
     throw new NoSuchRecordException("No more records left.");
   }
@@ -90,7 +133,10 @@ public class ResultImpl implements Result {
     if (size != 1) {
       throw new NoSuchRecordException("Invalid number of records returned: " + size);
     }
-    return get(0);
+    startConversion();
+    final var record = get(0);
+    converted(1);
+    return record;
   }
 
   /**
@@ -107,14 +153,43 @@ public class ResultImpl implements Result {
     return get(index.get() + 1);
   }
 
+  /**
+   * Opt-in column oriented view of all the rows of this result, independent of the records already
+   * read. Numeric, boolean and string columns are decoded without an object per cell.
+   *
+   * @return the columns of this result.
+   */
+  public ColumnarResult columnar() {
+    return ColumnarResult.decode(resultSet);
+  }
+
+  /**
+   * @return approximate size in bytes of the values received for this result.
+   */
+  public long estimatedSize() {
+    long size = estimatedSize;
+    if (size < 0) {
+      // idempotent, racing threads may both estimate it
+      size = resultSet.isEmpty() ? 0L : ValueSizeEstimator.estimate(resultSet.getRows());
+      estimatedSize = size;
+    }
+    return size;
+  }
+
+  /**
+   * @return number of rows received for this result, read or not.
+   */
+  int size() {
+    return resultSet.rowsSize();
+  }
+
   private Record get(int idx) {
     // build a neo4j record from the nebula record
-    final var queryKeys = resultSet.getColumnNames();
     final var nebulaRecord = resultSet.rowValues(idx);
-    final var values =
-        nebulaRecord.values().stream()
-            .map(NebulaToNeo4jConverter::toValue)
-            .toArray(ValueAdapter[]::new);
+    final var values = new Value[nebulaRecord.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = NebulaToNeo4jConverter.toValue(nebulaRecord.get(i), lazyStrings);
+    }
     return new InternalRecord(queryKeys, values);
   }
 
@@ -123,12 +198,15 @@ public class ResultImpl implements Result {
    *
    * <p>Result is exhausted when a terminal operation on the returned stream is executed.
    *
+   * <p>Rows are converted as the stream reaches them, the stream is sized and splits evenly so it
+   * can be made {@link Stream#parallel() parallel} without collecting the records first.
+   *
    * @return sequential {@link Stream} of records. Empty stream if this result has already been
    *     consumed or is empty.
    */
   @Override
   public Stream<Record> stream() {
-    return list().stream();
+    return StreamSupport.stream(new RecordSpliterator(0, resultSet.rowsSize()), false);
   }
 
   /**
@@ -141,13 +219,20 @@ public class ResultImpl implements Result {
    *
    * <p>Calling this method exhausts the result.
    *
+   * <p>Results with more rows than the configured threshold are converted in parallel on the common
+   * fork-join pool, the records keep the order of the rows.
+   *
    * @return list of all remaining immutable records
    */
   @Override
   public List<Record> list() {
-    return IntStream.range(0, resultSet.rowsSize())
-        .mapToObj(this::get)
-        .collect(Collectors.toList());
+    // started even if there is nothing to convert, so every list is recorded
+    startConversion();
+    final var records = stream();
+    final var parallel = parallelThreshold > 0 && resultSet.rowsSize() > parallelThreshold;
+    final var ret = (parallel ? records.parallel() : records).collect(Collectors.toList());
+    endConversion();
+    return ret;
   }
 
   /**
@@ -182,6 +267,129 @@ public class ResultImpl implements Result {
    */
   @Override
   public ResultSummary consume() {
+    // the records left are discarded
+    endConversion();
     return this.resultSummary;
   }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  /** Start timing the conversion with the first record, whichever way it is read. */
+  void startConversion() {
+    if (null == conversion) {
+      synchronized (this) {
+        if (null == conversion) {
+          conversion = new Conversion();
+        }
+      }
+    }
+  }
+
+  /** Count the records converted, the conversion ends with the last row. */
+  void converted(int count) {
+    if (converted.addAndGet(count) >= resultSet.rowsSize()) {
+      endConversion();
+    }
+  }
+
+  void endConversion() {
+    final var c = conversion;
+    if (null != c) {
+      c.end(converted.get());
+    }
+  }
+
+  /**
+   * A single conversion event and span for all the records of the result, whether they are listed,
+   * streamed or iterated. Iterating includes the time the caller spends between records.
+   */
+  class Conversion {
+    private final ConversionEvent event = new ConversionEvent();
+    private final Span convert = span.child("convert");
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    Conversion() {
+      event.begin();
+    }
+
+    void end(int rows) {
+      if (!ended.compareAndSet(false, true)) {
+        return;
+      }
+      event.end();
+      convert.tag("rows", rows).end();
+      if (event.shouldCommit()) {
+        event.host = resultSummary.server().address();
+        event.space = resultSummary.database().name();
+        event.rows = rows;
+        event.bytes = estimatedSize();
+        event.commit();
+      }
+    }
+  }
+
+  /** Converts rows as they are reached, splits by halving the range of rows. */
+  class RecordSpliterator implements Spliterator<Record> {
+    private int from;
+    private final int to;
+
+    RecordSpliterator(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Record> action) {
+      if (from < to) {
+        startConversion();
+        final var record = get(from++);
+        converted(1);
+        action.accept(record);
+        return true;
+      }
+      return false;
+    }
+
+    /** Counts the records of the split once, not per record, parallel splits share the counter. */
+    @Override
+    public void forEachRemaining(Consumer<? super Record> action) {
+      if (from >= to) {
+        return;
+      }
+      startConversion();
+      final int start = from;
+      try {
+        while (from < to) {
+          final var record = get(from);
+          from++;
+          action.accept(record);
+        }
+      } finally {
+        converted(from - start);
+      }
+    }
+
+    @Override
+    public Spliterator<Record> trySplit() {
+      final int mid = (from + to) >>> 1;
+      if (mid <= from) {
+        return null;
+      }
+      final var prefix = new RecordSpliterator(from, mid);
+      from = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+    }
+  }
 }
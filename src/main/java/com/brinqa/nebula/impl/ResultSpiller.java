@@ -0,0 +1,151 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.DriverConfig;
+import com.facebook.thrift.TException;
+import com.facebook.thrift.protocol.TCompactProtocol;
+import com.facebook.thrift.transport.TIOStreamTransport;
+import com.google.common.io.CountingOutputStream;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.summary.ResultSummary;
+
+/**
+ * Spill the rows of results larger than {@link DriverConfig#getSpillThresholdBytes()} to a
+ * temporary file in Thrift compact encoding, so the response and the converted records need not be
+ * held in memory at once. The file is memory-mapped and deleted straight away, the mapping lives
+ * until the records are no longer referenced.
+ *
+ * <p>Spilling only starts once the whole {@link ResultSet} has been received and decoded on the
+ * heap, so it lowers the memory retained by a result while it is consumed, not the peak memory of
+ * receiving it. Page large reads to bound the peak.
+ */
+@Slf4j
+public class ResultSpiller {
+  /** Rows never straddle segments, so each segment can be mapped on its own. */
+  private static final long SEGMENT_SIZE = 1L << 30;
+
+  private final long threshold;
+  private final Path directory;
+  private final MetricsImpl metrics;
+
+  public ResultSpiller(DriverConfig driverConfig, MetricsImpl metrics) {
+    this.threshold = driverConfig.getSpillThresholdBytes();
+    final var dir = driverConfig.getSpillDirectory();
+    this.directory = Paths.get(null == dir ? System.getProperty("java.io.tmpdir") : dir);
+    this.metrics = metrics;
+  }
+
+  /**
+   * @param result result received.
+   * @return true if the result should be spilled to disk.
+   */
+  public boolean shouldSpill(ResultImpl result) {
+    return threshold > 0 && result.estimatedSize() > threshold;
+  }
+
+  /**
+   * Write the rows of a result to disk.
+   *
+   * @param resultSet rows received.
+   * @param summary summary of the result.
+   * @param receivedBytes approximate size of the rows received, see {@link
+   *     ResultImpl#estimatedSize()}.
+   * @param timezoneOffset timezone offset of the connection, used to decode the rows.
+   * @return result over the spilled rows.
+   */
+  public MaterializedResult spill(
+      ResultSet resultSet, ResultSummary summary, long receivedBytes, int timezoneOffset) {
+    final var rows = resultSet.getRows();
+    final var offsets = new long[rows.size() + 1];
+    final var file = createFile();
+    try (final var channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE)) {
+      final var out =
+          new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+      final var protocol = new TCompactProtocol(new TIOStreamTransport(out));
+      for (int i = 0; i < rows.size(); i++) {
+        rows.get(i).write(protocol);
+        offsets[i + 1] = out.getCount();
+      }
+      out.flush();
+      // split in segments at row boundaries
+      final var rowSegments = new int[rows.size()];
+      final var segments = new ArrayList<MappedByteBuffer>();
+      final var starts = new ArrayList<Long>();
+      for (int i = 0; i < rows.size(); i++) {
+        if (starts.isEmpty() || offsets[i + 1] - starts.get(starts.size() - 1) > SEGMENT_SIZE) {
+          if (!starts.isEmpty()) {
+            segments.add(map(channel, starts.get(starts.size() - 1), offsets[i]));
+          }
+          starts.add(offsets[i]);
+        }
+        rowSegments[i] = starts.size() - 1;
+      }
+      if (!starts.isEmpty()) {
+        segments.add(map(channel, starts.get(starts.size() - 1), offsets[rows.size()]));
+      }
+      metrics.recordSpill(rows.size(), offsets[rows.size()]);
+      log.debug("Spilled {} rows, {} bytes to {}.", rows.size(), offsets[rows.size()], file);
+      final var records =
+          new SpilledRecords(
+              resultSet.getColumnNames(),
+              timezoneOffset,
+              segments.toArray(MappedByteBuffer[]::new),
+              starts.stream().mapToLong(Long::longValue).toArray(),
+              offsets,
+              rowSegments);
+      return new MaterializedResult(resultSet.getColumnNames(), records, summary, receivedBytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to spill result.", e);
+    } catch (TException e) {
+      throw new IllegalStateException("Failed to encode result.", e);
+    }
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  Path createFile() {
+    try {
+      return Files.createTempFile(directory, "nebula-spill-", ".rows");
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create spill file.", e);
+    }
+  }
+
+  static MappedByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+    return channel.map(MapMode.READ_ONLY, from, to - from);
+  }
+}
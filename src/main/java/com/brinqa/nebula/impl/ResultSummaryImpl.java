@@ -16,6 +16,7 @@
 package com.brinqa.nebula.impl;
 
 import com.vesoft.nebula.client.graph.data.HostAddress;
+import com.vesoft.nebula.graph.PlanDescription;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import lombok.AllArgsConstructor;
@@ -35,6 +36,23 @@ public class ResultSummaryImpl implements ResultSummary {
   private final Query query;
   private final String spaceName;
   private final HostAddress address;
+  // plan of a query run with EXPLAIN or PROFILE, null otherwise
+  private final PlanDescription planDescription;
+  // derived from the write statements sent, empty for reads and statements not sent yet
+  private final SummaryCounters counters;
+
+  public ResultSummaryImpl(long time, Query query, String spaceName, HostAddress address) {
+    this(time, query, spaceName, address, null);
+  }
+
+  public ResultSummaryImpl(
+      long time,
+      Query query,
+      String spaceName,
+      HostAddress address,
+      PlanDescription planDescription) {
+    this(time, query, spaceName, address, planDescription, SummaryCountersImpl.EMPTY);
+  }
 
   /**
    * @return query that has been executed
@@ -45,11 +63,12 @@ public class ResultSummaryImpl implements ResultSummary {
   }
 
   /**
-   * @return counters for operations the query triggered
+   * @return counters for operations the query triggered, derived from the text of its write
+   *     statements when they were executed
    */
   @Override
   public SummaryCounters counters() {
-    return SummaryCountersImpl.EMPTY;
+    return counters;
   }
 
   /**
@@ -66,7 +85,7 @@ public class ResultSummaryImpl implements ResultSummary {
    */
   @Override
   public boolean hasPlan() {
-    return false;
+    return null != planDescription;
   }
 
   /**
@@ -75,7 +94,7 @@ public class ResultSummaryImpl implements ResultSummary {
    */
   @Override
   public boolean hasProfile() {
-    return false;
+    return NebulaPlan.isProfiled(planDescription);
   }
 
   /**
@@ -85,7 +104,7 @@ public class ResultSummaryImpl implements ResultSummary {
    */
   @Override
   public Plan plan() {
-    return null;
+    return NebulaPlan.of(planDescription);
   }
 
   /**
@@ -99,7 +118,7 @@ public class ResultSummaryImpl implements ResultSummary {
    */
   @Override
   public ProfiledPlan profile() {
-    return null;
+    return hasProfile() ? NebulaPlan.of(planDescription) : null;
   }
 
   /**
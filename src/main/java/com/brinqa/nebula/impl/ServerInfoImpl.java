@@ -31,7 +31,7 @@ public class ServerInfoImpl implements ServerInfo {
    */
   @Override
   public String address() {
-    return this.address.getHost();
+    return null == this.address ? null : this.address.getHost();
   }
 
   /**
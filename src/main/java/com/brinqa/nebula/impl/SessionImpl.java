@@ -16,11 +16,28 @@
 package com.brinqa.nebula.impl;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
-
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import com.brinqa.nebula.impl.jfr.BorrowEvent;
+import com.brinqa.nebula.impl.stats.SlowQueryEntry;
+import com.brinqa.nebula.impl.tracing.TraceContext;
+import com.brinqa.nebula.impl.traversal.AdjacencyLoader;
+import com.brinqa.nebula.impl.traversal.Traversal;
+import com.brinqa.nebula.impl.traversal.TraversalEdge;
+import com.brinqa.nebula.impl.traversal.Traverser;
 import com.google.common.base.Throwables;
 
 import org.neo4j.driver.Bookmark;
@@ -33,10 +50,15 @@ import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.TransactionWork;
 import org.neo4j.driver.Value;
 import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.summary.SummaryCounters;
 
+import com.vesoft.nebula.ErrorCode;
 import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.reactivex.Flowable;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.vesoft.nebula.client.graph.net.Session.value2Nvalue;
@@ -44,15 +66,20 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Slf4j
 public class SessionImpl implements Session {
+  // queries already profiled or explained by the caller
+  private static final Pattern PROFILED =
+      Pattern.compile("(?:PROFILE|EXPLAIN)\\b", Pattern.CASE_INSENSITIVE);
 
-  private final String spaceName;
+  @Getter private final String spaceName;
+  private final DriverImpl driver;
   private final ConnectionPool pool;
   private final AtomicBoolean openState = new AtomicBoolean(true);
 
   private final Retry useSpaceRetry;
 
-  public SessionImpl(final ConnectionPool pool, final String spaceName) {
-    this.pool = pool;
+  public SessionImpl(final DriverImpl driver, final String spaceName) {
+    this.driver = driver;
+    this.pool = driver.getPool();
     this.spaceName = spaceName;
 
     final RetryConfig retryConfig =
@@ -111,7 +138,7 @@ public class SessionImpl implements Session {
 
   @Override
   public Transaction beginTransaction(TransactionConfig config) {
-    return new TransactionImpl(this, config);
+    return newTransaction(config);
   }
 
   @Override
@@ -121,7 +148,11 @@ public class SessionImpl implements Session {
 
   @Override
   public <T> T readTransaction(TransactionWork<T> work, TransactionConfig config) {
-    return work.execute(new TransactionImpl(this, config));
+    try (final var tx = newTransaction(config)) {
+      final T ret = work.execute(tx);
+      tx.commit();
+      return ret;
+    }
   }
 
   @Override
@@ -190,35 +221,383 @@ public class SessionImpl implements Session {
    * @param config
    * @return
    */
-  public ResultImpl executeQuery(Query query, TransactionConfig config) {
+  public Result executeQuery(Query query, TransactionConfig config) {
+    final var span = driver.getDriverConfig().getTracer().start("run", TraceContext.current());
+    span.tag("space", spaceName).tag("query", query.text());
+    try (var scope = TraceContext.activate(span)) {
+      return executeAndRecord(query, config);
+    } catch (RuntimeException e) {
+      span.error(e);
+      throw e;
+    } finally {
+      span.end();
+    }
+  }
+
+  /** Execute a query and record its statistics if enabled. */
+  Result executeAndRecord(Query query, TransactionConfig config) {
+    final var queryStats = driver.queryStats();
+    if (!queryStats.isEnabled()) {
+      return dispatch(query, config);
+    }
+    final long start = System.nanoTime();
+    try {
+      final var result = dispatch(query, config);
+      final long elapsed = System.nanoTime() - start;
+      if (result instanceof ResultImpl) {
+        final var received = (ResultImpl) result;
+        queryStats.record(query.text(), elapsed, received.size(), received.estimatedSize());
+      } else if (result instanceof MaterializedResult) {
+        // spilled or merged chunks, cached and shared results received nothing
+        final var materialized = (MaterializedResult) result;
+        queryStats.record(query.text(), elapsed, materialized.size(), materialized.receivedBytes());
+      } else {
+        queryStats.record(query.text(), elapsed, 0, 0L);
+      }
+      return result;
+    } catch (RuntimeException e) {
+      queryStats.recordError(query.text(), System.nanoTime() - start);
+      throw e;
+    }
+  }
+
+  /** Route a query by its statement type, reads may be split, cached and/or shared. */
+  Result dispatch(Query query, TransactionConfig config) {
+    final var type = StatementType.of(query.text());
+    if (StatementType.READ == type) {
+      final var chunkSize = driver.getDriverConfig().getListParameterChunkSize();
+      final var chunks = ListParameterChunker.split(query, chunkSize);
+      return chunks.isEmpty() ? executeRead(query, config) : executeChunks(query, chunks, config);
+    }
+    try {
+      // derived once, for the summary and the driver totals
+      final var counters =
+          StatementType.WRITE == type
+              ? SummaryCountersImpl.of(query.text())
+              : SummaryCountersImpl.EMPTY;
+      final var result = execute(query, config, counters);
+      if (StatementType.WRITE == type) {
+        driver.writeCounters().record(counters);
+      }
+      return result;
+    } finally {
+      if (StatementType.WRITE == type || StatementType.SCHEMA == type) {
+        driver.getResultCache().invalidate(spaceName, query.text());
+        driver.getQueryCoalescer().invalidate(spaceName);
+      }
+      if (StatementType.SCHEMA == type) {
+        driver.getSchemaCache().invalidate(spaceName);
+      }
+    }
+  }
+
+  /** Serve a read from the cache and/or share it with identical concurrent reads if enabled. */
+  Result executeRead(Query query, TransactionConfig config) {
+    final var resultCache = driver.getResultCache();
+    final Supplier<Result> read =
+        resultCache.isEnabled()
+            ? () -> resultCache.get(spaceName, query, () -> execute(query, config))
+            : () -> execute(query, config);
+    final var coalescer = driver.getQueryCoalescer();
+    return coalescer.isEnabled() ? coalescer.execute(spaceName, query, read) : read.get();
+  }
+
+  /**
+   * Execute the chunks of a split query concurrently on separate connections and concatenate their
+   * records in order. The merged result is neither cached nor shared.
+   */
+  Result executeChunks(Query query, List<Query> chunks, TransactionConfig config) {
+    final long now = System.nanoTime();
+    final var parallelism = Math.max(1, driver.getDriverConfig().getListParameterParallelism());
+    final var inFlight = new Semaphore(parallelism);
+    final var futures = new ArrayList<CompletableFuture<MaterializedResult>>();
+    try {
+      for (Query chunk : chunks) {
+        inFlight.acquireUninterruptibly();
+        // stop submitting once a chunk failed, the failure is reported below
+        if (futures.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+          break;
+        }
+        final var future =
+            CompletableFuture.supplyAsync(
+                TraceContext.wrap(() -> MaterializedResult.of(execute(chunk, config))),
+                driver.getExecutor());
+        future.whenComplete((result, t) -> inFlight.release());
+        futures.add(future);
+      }
+    } catch (RejectedExecutionException e) {
+      throw new ClientException("Driver is closed.", e);
+    }
+    final var records = new ArrayList<Record>();
+    long receivedBytes = 0;
+    for (var future : futures) {
+      final var chunk = QueryCoalescer.join(future);
+      records.addAll(chunk.list());
+      receivedBytes += chunk.receivedBytes();
+    }
+    final var keys = QueryCoalescer.join(futures.get(0)).keys();
+    final var summary = new ResultSummaryImpl(System.nanoTime() - now, query, spaceName, null);
+    return new MaterializedResult(keys, records, summary, receivedBytes);
+  }
+
+  Result execute(Query query, TransactionConfig config) {
+    return execute(query, config, SummaryCountersImpl.EMPTY);
+  }
+
+  Result execute(Query query, TransactionConfig config, SummaryCounters counters) {
     // FIXME: use the config timeout, use resilience4j for timeout
+    final long start = System.nanoTime();
     return withConnection(
         connection -> {
           final long now = System.nanoTime();
-          // create nebula parameters
-          final var params = toNebulaParameters(query);
-          // execute the query
-          final var resultSet = connection.execute(query.text(), params);
-          // time the query
-          final long time = System.nanoTime() - now;
+          // 0 until reached, for the slow query log of a failed query
+          long sent = 0L;
+          long received = 0L;
+          ResultSet resultSet = null;
+          Result ret;
+          try {
+            // create nebula parameters
+            final var params = toNebulaParameters(query);
+            sent = System.nanoTime();
+            // execute the query
+            final var span = TraceContext.current().child("execute");
+            final var text =
+                sampleProfile(query.text(), driver.getDriverConfig().getAutoProfileSampleRate());
+            try {
+              resultSet = connection.execute(text, params);
+              received = System.nanoTime();
+              if (span.isRecording()) {
+                span.tag("host", connection.getAddress().toString());
+                span.tag("rows", resultSet.rowsSize()).tag("latency", resultSet.getLatency());
+              }
+            } catch (RuntimeException e) {
+              span.error(e);
+              throw e;
+            } finally {
+              span.end();
+            }
+            // time the query
+            final long time = received - now;
+            if (!resultSet.isSucceeded()) {
+              throw new ClientException("Failed query.", resultSet.getErrorMessage());
+            }
+            // build the neo4j summary results
+            final var summary =
+                new ResultSummaryImpl(
+                    time,
+                    query,
+                    spaceName,
+                    connection.getAddress(),
+                    resultSet.getPlanDesc(),
+                    counters);
+            // build out neo4j result
+            final var driverConfig = driver.getDriverConfig();
+            final var result =
+                new ResultImpl(
+                    resultSet,
+                    summary,
+                    driverConfig.getParallelConversionThreshold(),
+                    driverConfig.isLazyStringValues());
+            final var spiller = driver.getResultSpiller();
+            ret = result;
+            if (spiller.shouldSpill(result)) {
+              final var timezoneOffset = connection.getSessionData().getTimezoneOffset();
+              ret = spiller.spill(resultSet, summary, result.estimatedSize(), timezoneOffset);
+            }
+          } catch (RuntimeException e) {
+            logSlowQuery(query, connection, resultSet, e, start, now, sent, received);
+            throw e;
+          }
+          logSlowQuery(query, connection, resultSet, null, start, now, sent, received);
+          return ret;
+        });
+  }
+
+  /**
+   * Log a query if it is slow, whether it succeeded or not. The times are those of the phases of
+   * {@link #execute(Query, TransactionConfig)}, 0 for the phases a failed query never reached.
+   */
+  void logSlowQuery(
+      Query query,
+      Connection connection,
+      ResultSet resultSet,
+      RuntimeException error,
+      long start,
+      long now,
+      long sent,
+      long received) {
+    final long end = System.nanoTime();
+    final long serverNanos =
+        null == resultSet ? 0L : TimeUnit.MICROSECONDS.toNanos(resultSet.getLatency());
+    final var slowQueryLog = driver.getSlowQueryLog();
+    if (!slowQueryLog.shouldLog(end - start, serverNanos)) {
+      return;
+    }
+    final var entry =
+        SlowQueryEntry.builder()
+            .space(spaceName)
+            .host(String.valueOf(connection.getAddress()))
+            .totalNanos(end - start)
+            .serverNanos(serverNanos)
+            .rows(null == resultSet ? 0 : resultSet.rowsSize())
+            .phase("connection", now - start);
+    if (sent > 0) {
+      entry.phase("parameters", sent - now);
+      if (received > 0) {
+        entry.phase("execute", received - sent).phase("result", end - received);
+      } else {
+        entry.phase("execute", end - sent);
+      }
+    }
+    if (null != error) {
+      entry.error(error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+    slowQueryLog.log(entry, query);
+  }
+
+  /**
+   * Execute scripts of semicolon joined statements one after the other on a single connection.
+   * Nebula has no transactions, the statements of a failed script that ran before the failure are
+   * not undone.
+   *
+   * @param scripts statements to run in order.
+   */
+  public void executeScript(List<Query> scripts) {
+    if (scripts.isEmpty()) {
+      return;
+    }
+    try {
+      withConnection(
+          connection -> {
+            for (Query script : scripts) {
+              final var resultSet = connection.execute(script.text(), toNebulaParameters(script));
+              if (!resultSet.isSucceeded()) {
+                throw new ClientException("Failed query.", resultSet.getErrorMessage());
+              }
+              driver.writeCounters().record(SummaryCountersImpl.of(script.text()));
+            }
+            return null;
+          });
+    } finally {
+      scripts.forEach(script -> driver.getResultCache().invalidate(spaceName, script.text()));
+      driver.getQueryCoalescer().invalidate(spaceName);
+    }
+  }
+
+  /**
+   * Execute a read query and hand the result set received to a sink as is, without converting it to
+   * records, e.g. an {@link com.brinqa.nebula.impl.arrow.ArrowResultSink}.
+   *
+   * @param query read query to execute.
+   * @param sink consumes the result set.
+   */
+  public void export(Query query, Consumer<ResultSet> sink) {
+    withConnection(
+        connection -> {
+          final var resultSet = connection.execute(query.text(), toNebulaParameters(query));
           if (!resultSet.isSucceeded()) {
             throw new ClientException("Failed query.", resultSet.getErrorMessage());
           }
-          // build the neo4j summary results
-          final var summary =
-              new ResultSummaryImpl(time, query, spaceName, connection.getAddress());
-          // build out neo4j result
-          return new ResultImpl(resultSet, summary);
+          sink.accept(resultSet);
+          return null;
         });
   }
 
+  /**
+   * Build a result for a statement that has not been sent to the server yet, e.g. a buffered write.
+   *
+   * @param query statement the result is for.
+   * @return result without any records, nor any counters as nothing was written yet.
+   */
+  public ResultImpl emptyResult(Query query) {
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    final var summary = new ResultSummaryImpl(0L, query, spaceName, null);
+    return new ResultImpl(new ResultSet(response, 0), summary);
+  }
+
+  /**
+   * Run a read query a page at a time, fetching the next page while the current one is consumed,
+   * rather than receiving all the records at once.
+   *
+   * @param query read query to page through.
+   * @param pagination page size and whether to page by offset or by key.
+   * @return streaming result over all the pages.
+   */
+  public Result runPaged(Query query, Pagination pagination) {
+    return new PagedResult(
+        query,
+        pagination,
+        page -> executeQuery(page, TransactionConfig.empty()),
+        driver.getExecutor());
+  }
+
+  /**
+   * Expand a traversal a whole frontier at a time with batched GO queries, running several batches
+   * concurrently across the connection pool.
+   *
+   * @param traversal seeds, edge types, direction and depth to expand.
+   * @return cold stream of the edges followed, as each batch completes.
+   */
+  public Flowable<TraversalEdge> traverse(Traversal traversal) {
+    final var driverConfig = driver.getDriverConfig();
+    // the GO queries run on the driver threads, as children of the current span
+    final var parent = TraceContext.current();
+    final var traverser =
+        new Traverser(
+            query -> {
+              try (var scope = TraceContext.activate(parent)) {
+                return executeQuery(query, TransactionConfig.empty());
+              }
+            },
+            driver.getExecutor(),
+            driverConfig.getTraversalChunkSize(),
+            driverConfig.getTraversalParallelism());
+    return traverser.traverse(traversal);
+  }
+
+  /**
+   * @return loader of compressed sparse row adjacencies from GO and GET SUBGRAPH queries.
+   */
+  public AdjacencyLoader adjacency() {
+    return new AdjacencyLoader(this::export);
+  }
+
+  TransactionImpl newTransaction(TransactionConfig config) {
+    final var driverConfig = driver.getDriverConfig();
+    final var buffer =
+        driverConfig.isBufferTransactionWrites()
+            ? new WriteBuffer(driverConfig.getTransactionScriptStatements())
+            : null;
+    return new TransactionImpl(this, config, buffer);
+  }
+
   <T> T withConnection(Function<Connection, T> consumer) {
     try {
       // FIXME: Retry if there's some other error
-      final Connection c = this.pool.borrowObject();
+      final var event = new BorrowEvent();
+      event.begin();
+      final var parent = TraceContext.current();
+      final var borrow = parent.child("borrow");
+      final Connection c;
+      try {
+        c = this.pool.borrowObject();
+      } finally {
+        borrow.end();
+      }
       if (c.updateCurrentSpace(this.spaceName)) {
-        final var stmt = "USE " + this.spaceName + ";";
-        this.useSpaceRetry.executeSupplier(() -> c.execute(stmt, Map.of()));
+        final var use = parent.child("use").tag("space", this.spaceName);
+        try {
+          final var stmt = "USE " + this.spaceName + ";";
+          this.useSpaceRetry.executeSupplier(() -> c.execute(stmt, Map.of()));
+        } finally {
+          use.end();
+        }
+      }
+      event.end();
+      if (event.shouldCommit()) {
+        event.host = c.getAddress().toString();
+        event.space = this.spaceName;
+        event.commit();
       }
       try {
         return consumer.apply(c);
@@ -238,6 +617,29 @@ public class SessionImpl implements Session {
     }
   }
 
+  /**
+   * Prefix a sampled fraction of the single statement reads with PROFILE, the statements keep their
+   * results and the summaries gain the profiled plan.
+   *
+   * @param text text of the query.
+   * @param rate fraction of the reads profiled.
+   * @return text of the query to execute.
+   */
+  static String sampleProfile(String text, double rate) {
+    if (rate <= 0 || (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+      return text;
+    }
+    final var stripped = text.strip();
+    final var statement =
+        stripped.endsWith(";") ? stripped.substring(0, stripped.length() - 1) : stripped;
+    if (statement.indexOf(';') >= 0
+        || PROFILED.matcher(statement).lookingAt()
+        || StatementType.READ != StatementType.of(statement)) {
+      return text;
+    }
+    return "PROFILE " + text;
+  }
+
   Map<byte[], com.vesoft.nebula.Value> toNebulaParameters(Query query) {
     final var map = new HashMap<byte[], com.vesoft.nebula.Value>();
     query
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.facebook.thrift.TException;
+import com.facebook.thrift.protocol.TCompactProtocol;
+import com.facebook.thrift.transport.TMemoryInputTransport;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import java.nio.MappedByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.util.QueryKeys;
+
+/**
+ * Records of rows spilled to a memory-mapped file, each row is decoded and converted every time it
+ * is read so the records are never all held in memory.
+ */
+class SpilledRecords extends AbstractList<Record> implements RandomAccess {
+
+  private final QueryKeys keys;
+  private final int timezoneOffset;
+  private final MappedByteBuffer[] segments;
+  private final long[] segmentStarts;
+  private final long[] offsets;
+  private final int[] rowSegments;
+
+  SpilledRecords(
+      List<String> keys,
+      int timezoneOffset,
+      MappedByteBuffer[] segments,
+      long[] segmentStarts,
+      long[] offsets,
+      int[] rowSegments) {
+    this.keys = new QueryKeys(keys);
+    this.timezoneOffset = timezoneOffset;
+    this.segments = segments;
+    this.segmentStarts = segmentStarts;
+    this.offsets = offsets;
+    this.rowSegments = rowSegments;
+  }
+
+  @Override
+  public int size() {
+    return rowSegments.length;
+  }
+
+  @Override
+  public Record get(int index) {
+    final var row = readRow(index).getValues();
+    final var values = new Value[row.size()];
+    for (int i = 0; i < values.length; i++) {
+      final var value = new ValueWrapper(row.get(i), "utf-8", timezoneOffset);
+      values[i] = NebulaToNeo4jConverter.toValue(value);
+    }
+    return new InternalRecord(keys, values);
+  }
+
+  Row readRow(int index) {
+    final var segment = rowSegments[index];
+    final var position = (int) (offsets[index] - segmentStarts[segment]);
+    final var bytes = new byte[(int) (offsets[index + 1] - offsets[index])];
+    // read through a duplicate, the segments are shared by concurrent readers
+    segments[segment].duplicate().position(position).get(bytes);
+    try {
+      final var row = new Row();
+      row.read(new TCompactProtocol(new TMemoryInputTransport(bytes)));
+      return row;
+    } catch (TException e) {
+      throw new IllegalStateException("Corrupt spill file.", e);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Best effort extraction of the tags and edge types a query is limited to. Only statements that
+ * name them explicitly are recognised, e.g. {@code FETCH PROP ON Host 1} or {@code INSERT EDGE
+ * like(likeness) ...}. Anything else, e.g. a MATCH that returns whole vertices, may touch any tag
+ * and is reported as unknown.
+ */
+public class StatementTags {
+  private static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
+  private static final String NAME = "`?(\\w+)`?";
+  private static final String NAMES = "(`?\\w+`?(?:\\s*,\\s*`?\\w+`?)*)";
+
+  private static final Pattern FETCH = Pattern.compile("^FETCH\\s+PROP\\s+ON\\s+" + NAMES, FLAGS);
+  private static final Pattern LOOKUP = Pattern.compile("^LOOKUP\\s+ON\\s+" + NAME, FLAGS);
+  private static final Pattern INSERT =
+      Pattern.compile(
+          "^INSERT\\s+(?:VERTEX|EDGE)\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(.*?)\\s+VALUES", FLAGS);
+  private static final Pattern INSERT_NAME = Pattern.compile(NAME + "\\s*\\(");
+  private static final Pattern CHANGE =
+      Pattern.compile("^(?:UPDATE|UPSERT)\\s+(?:VERTEX|EDGE)\\s+ON\\s+" + NAME, FLAGS);
+  private static final Pattern DELETE_TAG =
+      Pattern.compile("^DELETE\\s+TAG\\s+" + NAMES + "\\s+FROM", FLAGS);
+  private static final Pattern DELETE_EDGE = Pattern.compile("^DELETE\\s+EDGE\\s+" + NAME, FLAGS);
+  private static final Pattern NAME_SEPARATOR = Pattern.compile("[\\s,`]+");
+
+  /**
+   * @param text query text, possibly made of several statements.
+   * @return the tags and edge types of every statement, null if unknown for any of them.
+   */
+  public static Set<String> of(String text) {
+    final var ret = new HashSet<String>();
+    final List<String> statements = StatementType.split(text);
+    if (statements.isEmpty()) {
+      return null;
+    }
+    for (String statement : statements) {
+      if (!add(ret, statement)) {
+        return null;
+      }
+    }
+    return ret;
+  }
+
+  static boolean add(Set<String> tags, String statement) {
+    Matcher m;
+    if ((m = FETCH.matcher(statement)).find() || (m = DELETE_TAG.matcher(statement)).find()) {
+      for (String name : NAME_SEPARATOR.split(m.group(1))) {
+        if (!name.isEmpty()) {
+          tags.add(name);
+        }
+      }
+      return true;
+    }
+    if ((m = LOOKUP.matcher(statement)).find()
+        || (m = CHANGE.matcher(statement)).find()
+        || (m = DELETE_EDGE.matcher(statement)).find()) {
+      tags.add(m.group(1));
+      return true;
+    }
+    if ((m = INSERT.matcher(statement)).find()) {
+      final var names = INSERT_NAME.matcher(m.group(1));
+      boolean found = false;
+      while (names.find()) {
+        tags.add(names.group(1));
+        found = true;
+      }
+      return found;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/** Coarse classification of a query based on the leading keyword of each of its statements. */
+public enum StatementType {
+  /** Only reads data, e.g. MATCH, FETCH, GO or LOOKUP. */
+  READ,
+  /** Modifies data, e.g. INSERT, UPSERT, UPDATE or DELETE. */
+  WRITE,
+  /** Modifies the schema, e.g. CREATE, ALTER or DROP. */
+  SCHEMA,
+  /** Anything else, e.g. USE, SHOW or EXPLAIN. */
+  OTHER;
+
+  private static final Set<String> READ_KEYWORDS =
+      Set.of(
+          "MATCH",
+          "OPTIONAL",
+          "FETCH",
+          "GO",
+          "LOOKUP",
+          "GET",
+          "FIND",
+          "YIELD",
+          "UNWIND",
+          "WITH",
+          "RETURN");
+  private static final Set<String> WRITE_KEYWORDS = Set.of("INSERT", "UPSERT", "UPDATE", "DELETE");
+  private static final Set<String> SCHEMA_KEYWORDS = Set.of("CREATE", "ALTER", "DROP");
+  private static final Pattern KEYWORD =
+      Pattern.compile("^(?:PROFILE\\s+)?([A-Z]+)", Pattern.CASE_INSENSITIVE);
+
+  /**
+   * Classify a query, a query made of several statements joined by {@code ;} or {@code |} is a
+   * write if any statement is a write, and only a read if every statement is a read.
+   *
+   * @param text query text.
+   * @return type of the query.
+   */
+  public static StatementType of(String text) {
+    final var keywords = keywords(text);
+    boolean schema = false;
+    boolean read = !keywords.isEmpty();
+    for (String keyword : keywords) {
+      switch (ofKeyword(keyword)) {
+        case WRITE:
+          return WRITE;
+        case SCHEMA:
+          schema = true;
+          break;
+        case READ:
+          break;
+        default:
+          read = false;
+      }
+    }
+    if (schema) {
+      return SCHEMA;
+    }
+    return read ? READ : OTHER;
+  }
+
+  static StatementType ofKeyword(String keyword) {
+    if (READ_KEYWORDS.contains(keyword)) {
+      return READ;
+    }
+    if (WRITE_KEYWORDS.contains(keyword)) {
+      return WRITE;
+    }
+    if (SCHEMA_KEYWORDS.contains(keyword)) {
+      return SCHEMA;
+    }
+    return OTHER;
+  }
+
+  /**
+   * Find the leading keyword of each statement. A leading {@code PROFILE} is skipped as the
+   * statement is still executed.
+   */
+  static List<String> keywords(String text) {
+    final var ret = new ArrayList<String>();
+    for (String statement : split(text)) {
+      final var matcher = KEYWORD.matcher(statement);
+      if (matcher.find()) {
+        ret.add(matcher.group(1).toUpperCase(Locale.ROOT));
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Split a query into its statements on {@code ;} and {@code |}, ignoring separators within string
+   * literals and brackets, e.g. the {@code |} in {@code [:A|B]}.
+   *
+   * @param text query text.
+   * @return non-blank statements in order.
+   */
+  public static List<String> split(String text) {
+    final var ret = new ArrayList<String>();
+    int depth = 0;
+    int start = 0;
+    char quote = 0;
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (0 != quote) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'' || c == '`') {
+        quote = c;
+      } else if (c == '(' || c == '[' || c == '{') {
+        depth++;
+      } else if (c == ')' || c == ']' || c == '}') {
+        depth--;
+      } else if ((c == ';' || c == '|') && depth <= 0) {
+        addStatement(ret, text.substring(start, i));
+        start = i + 1;
+      }
+    }
+    addStatement(ret, text.substring(Math.min(start, text.length())));
+    return ret;
+  }
+
+  static void addStatement(List<String> statements, String statement) {
+    final var stripped = statement.strip();
+    if (!stripped.isEmpty()) {
+      statements.add(stripped);
+    }
+  }
+}
@@ -15,11 +15,38 @@
  */
 package com.brinqa.nebula.impl;
 
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.neo4j.driver.summary.SummaryCounters;
 
-/** This information is not available from Nebula. */
+/**
+ * Nebula does not report what a statement changed, the counters are derived from the shape of the
+ * write statements instead, see {@link WriteStatementCounter}. An inserted vertex or edge counts as
+ * created even if it overwrote an existing one, each tag of an inserted vertex as a label added.
+ * Indexes, constraints and system updates are never counted.
+ */
+@Builder
+@ToString
+@EqualsAndHashCode
 public class SummaryCountersImpl implements SummaryCounters {
-  public static final SummaryCounters EMPTY = new SummaryCountersImpl();
+  public static final SummaryCounters EMPTY = SummaryCountersImpl.builder().build();
+
+  private final int nodesCreated;
+  private final int nodesDeleted;
+  private final int relationshipsCreated;
+  private final int relationshipsDeleted;
+  private final int propertiesSet;
+  private final int labelsAdded;
+  private final int labelsRemoved;
+
+  /**
+   * @param text text of a query, possibly several statements.
+   * @return the counters of the write statements of the query.
+   */
+  public static SummaryCounters of(String text) {
+    return WriteStatementCounter.count(text);
+  }
 
   /**
    * Whether there were any updates at all, eg. any of the counters are greater than 0.
@@ -28,7 +55,13 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public boolean containsUpdates() {
-    return false;
+    return nodesCreated > 0
+        || nodesDeleted > 0
+        || relationshipsCreated > 0
+        || relationshipsDeleted > 0
+        || propertiesSet > 0
+        || labelsAdded > 0
+        || labelsRemoved > 0;
   }
 
   /**
@@ -36,7 +69,7 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public int nodesCreated() {
-    return 0;
+    return nodesCreated;
   }
 
   /**
@@ -44,7 +77,7 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public int nodesDeleted() {
-    return 0;
+    return nodesDeleted;
   }
 
   /**
@@ -52,7 +85,7 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public int relationshipsCreated() {
-    return 0;
+    return relationshipsCreated;
   }
 
   /**
@@ -60,7 +93,7 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public int relationshipsDeleted() {
-    return 0;
+    return relationshipsDeleted;
   }
 
   /**
@@ -68,7 +101,7 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public int propertiesSet() {
-    return 0;
+    return propertiesSet;
   }
 
   /**
@@ -76,7 +109,7 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public int labelsAdded() {
-    return 0;
+    return labelsAdded;
   }
 
   /**
@@ -84,7 +117,7 @@ public class SummaryCountersImpl implements SummaryCounters {
    */
   @Override
   public int labelsRemoved() {
-    return 0;
+    return labelsRemoved;
   }
 
   /**
@@ -17,7 +17,7 @@ package com.brinqa.nebula.impl;
 
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.neo4j.driver.Query;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
@@ -25,56 +25,90 @@ import org.neo4j.driver.Transaction;
 import org.neo4j.driver.TransactionConfig;
 import org.neo4j.driver.Value;
 
-@AllArgsConstructor
+/**
+ * Nebula has no transactions, by default every statement is executed immediately. With a {@link
+ * WriteBuffer} the write statements are queued instead and sent on {@link #commit()}, reads flush
+ * the queue first so they observe the earlier writes.
+ */
+@Slf4j
 public class TransactionImpl implements Transaction {
 
   private final SessionImpl session;
   private final TransactionConfig config;
+  private final WriteBuffer buffer;
 
   private final AtomicBoolean openState = new AtomicBoolean(true);
 
+  public TransactionImpl(SessionImpl session, TransactionConfig config) {
+    this(session, config, null);
+  }
+
+  public TransactionImpl(SessionImpl session, TransactionConfig config, WriteBuffer buffer) {
+    this.session = session;
+    this.config = config;
+    this.buffer = buffer;
+  }
+
   @Override
   public Result run(String query, Value parameters) {
-    return session.run(new Query(query, parameters), config);
+    return run(new Query(query, parameters));
   }
 
   @Override
   public Result run(String query, Map<String, Object> parameters) {
-    return session.run(query, parameters, config);
+    return run(new Query(query, parameters));
   }
 
   @Override
   public Result run(String query, Record parameters) {
-    return session.run(new Query(query, parameters.asMap()), config);
+    return run(new Query(query, parameters.asMap()));
   }
 
   @Override
   public Result run(String query) {
-    return session.run(query, config);
+    return run(new Query(query));
   }
 
   @Override
   public Result run(Query query) {
-    return session.run(query);
+    if (null != buffer) {
+      if (StatementType.WRITE == StatementType.of(query.text())) {
+        buffer.add(query);
+        return session.emptyResult(query);
+      }
+      flush();
+    }
+    return session.run(query, config);
   }
 
   @Override
   public void commit() {
-    // no transactions in nebula
+    if (null != buffer) {
+      flush();
+    }
   }
 
   @Override
   public void rollback() {
-    // no transactions in nebula
+    if (null != buffer) {
+      buffer.clear();
+    }
   }
 
   @Override
   public void close() {
-    openState.set(false);
+    if (openState.getAndSet(false) && null != buffer && !buffer.isEmpty()) {
+      log.debug("Transaction closed without commit, discarding buffered writes.");
+      buffer.clear();
+    }
   }
 
   @Override
   public boolean isOpen() {
     return openState.get();
   }
+
+  void flush() {
+    session.executeScript(buffer.drain());
+  }
 }
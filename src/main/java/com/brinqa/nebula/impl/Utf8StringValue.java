@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.internal.value.StringValue;
+import org.neo4j.driver.internal.value.ValueAdapter;
+import org.neo4j.driver.types.Type;
+
+/**
+ * String value that keeps the UTF-8 bytes received from Nebula and decodes them only when the
+ * string is asked for. Equality and hashing work on the bytes, and ASCII strings never need
+ * decoding for them. {@link #writeTo(OutputStream)} and {@link #writeJsonTo(OutputStream)} forward
+ * the bytes without decoding them at all. Results only build such values for their string cells
+ * when {@code lazyStringValues} is set in the driver configuration.
+ *
+ * <p>It is only equal to other values of this class: {@link StringValue} compares classes, so
+ * equality with it could not be symmetric. Compare {@link #asString()} to compare with any string
+ * value.
+ */
+public class Utf8StringValue extends ValueAdapter {
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(UTF_8);
+
+  private final byte[] bytes;
+  private final boolean ascii;
+  private String string;
+  private int hash;
+
+  public Utf8StringValue(byte[] bytes) {
+    this.bytes = bytes;
+    this.ascii = isAscii(bytes);
+  }
+
+  /**
+   * @return number of bytes of the UTF-8 encoding of the string.
+   */
+  public int utf8Length() {
+    return bytes.length;
+  }
+
+  /**
+   * Write the UTF-8 encoding of the string.
+   *
+   * @param out stream to write to.
+   * @throws IOException if the stream failed.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(bytes);
+  }
+
+  /**
+   * Write the string as a quoted JSON string in UTF-8, only quotes, backslashes and control
+   * characters are escaped so no decoding is needed.
+   *
+   * @param out stream to write to.
+   * @throws IOException if the stream failed.
+   */
+  public void writeJsonTo(OutputStream out) throws IOException {
+    out.write('"');
+    int start = 0;
+    for (int i = 0; i < bytes.length; i++) {
+      final int b = bytes[i];
+      // bytes of multi-byte characters are negative, they never need escaping
+      if (b < 0 || (b >= 0x20 && b != '"' && b != '\\')) {
+        continue;
+      }
+      out.write(bytes, start, i - start);
+      start = i + 1;
+      out.write('\\');
+      if (b == '"' || b == '\\') {
+        out.write(b);
+      } else if (b == '\n') {
+        out.write('n');
+      } else if (b == '\r') {
+        out.write('r');
+      } else if (b == '\t') {
+        out.write('t');
+      } else {
+        out.write('u');
+        out.write('0');
+        out.write('0');
+        out.write(HEX[b >> 4]);
+        out.write(HEX[b & 0xF]);
+      }
+    }
+    out.write(bytes, start, bytes.length - start);
+    out.write('"');
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return bytes.length == 0;
+  }
+
+  @Override
+  public int size() {
+    return ascii ? bytes.length : asString().length();
+  }
+
+  @Override
+  public String asObject() {
+    return asString();
+  }
+
+  @Override
+  public String asString() {
+    var ret = string;
+    if (null == ret) {
+      // decoding is idempotent, racing threads may both decode it
+      ret = new String(bytes, ascii ? ISO_8859_1 : UTF_8);
+      string = ret;
+    }
+    return ret;
+  }
+
+  @Override
+  public Type type() {
+    return InternalTypeSystem.TYPE_SYSTEM.STRING();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof Utf8StringValue) {
+      return Arrays.equals(bytes, ((Utf8StringValue) o).bytes);
+    }
+    return false;
+  }
+
+  /**
+   * @return same hash as the string, computed from the bytes for ASCII strings.
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0 && bytes.length > 0) {
+      if (ascii) {
+        for (byte b : bytes) {
+          h = 31 * h + b;
+        }
+      } else {
+        h = asString().hashCode();
+      }
+      hash = h;
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("\"%s\"", asString().replace("\"", "\\\""));
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static boolean isAscii(byte[] bytes) {
+    for (byte b : bytes) {
+      if (b < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate the size in bytes of Nebula values as received, strings count their encoded length
+ * and every other scalar a fixed width. It is cheap compared to converting the values and good
+ * enough to weigh or meter results.
+ */
+public class ValueSizeEstimator {
+  private static final int SCALAR = 8;
+
+  public static long estimate(List<Row> rows) {
+    long ret = 0;
+    for (Row row : rows) {
+      ret += estimate(row.getValues());
+    }
+    return ret;
+  }
+
+  public static long estimate(Collection<Value> values) {
+    long ret = 0;
+    for (Value value : values) {
+      ret += estimate(value);
+    }
+    return ret;
+  }
+
+  public static long estimate(Value value) {
+    if (null == value) {
+      return 0;
+    }
+    switch (value.getSetField()) {
+      case Value.SVAL:
+        return value.getSVal().length;
+      case Value.LVAL:
+        return estimate(value.getLVal().getValues());
+      case Value.UVAL:
+        return estimate(value.getUVal().getValues());
+      case Value.MVAL:
+        return estimate(value.getMVal().getKvs());
+      case Value.VVAL:
+        final var vertex = value.getVVal();
+        long vertexSize = estimate(vertex.getVid());
+        for (var tag : vertex.getTags()) {
+          vertexSize += tag.getName().length + estimate(tag.getProps());
+        }
+        return vertexSize;
+      case Value.EVAL:
+        final var edge = value.getEVal();
+        return estimate(edge.getSrc())
+            + estimate(edge.getDst())
+            + edge.getName().length
+            + SCALAR
+            + estimate(edge.getProps());
+      case Value.PVAL:
+        final var path = value.getPVal();
+        long pathSize = estimate(new Value(Value.VVAL, path.getSrc()));
+        for (var step : path.getSteps()) {
+          pathSize += estimate(new Value(Value.VVAL, step.getDst()));
+          pathSize += step.getName().length + SCALAR + estimate(step.getProps());
+        }
+        return pathSize;
+      case Value.GVAL:
+        return estimate(value.getGVal().getRows());
+      default:
+        return SCALAR;
+    }
+  }
+
+  static long estimate(Map<byte[], Value> props) {
+    if (null == props) {
+      return 0;
+    }
+    long ret = 0;
+    for (Map.Entry<byte[], Value> e : props.entrySet()) {
+      ret += e.getKey().length + estimate(e.getValue());
+    }
+    return ret;
+  }
+}
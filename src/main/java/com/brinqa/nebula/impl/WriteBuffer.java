@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.value.MapValue;
+
+/**
+ * Client side queue of the write statements of a buffered transaction. The statements are joined
+ * into semicolon separated scripts so they can be sent in a few requests instead of one each.
+ *
+ * <p>This class is not thread safe, neither are transactions.
+ */
+public class WriteBuffer {
+  private final int maxStatements;
+  private final List<Query> queries = new ArrayList<>();
+
+  public WriteBuffer(int maxStatements) {
+    this.maxStatements = Math.max(1, maxStatements);
+  }
+
+  public void add(Query query) {
+    this.queries.add(query);
+  }
+
+  public boolean isEmpty() {
+    return this.queries.isEmpty();
+  }
+
+  public void clear() {
+    this.queries.clear();
+  }
+
+  /**
+   * Join the queued statements into scripts of at most {@code maxStatements} each and empty the
+   * buffer. Statements share a single parameter map per script, so a new script is started when a
+   * parameter name is reused with a different value.
+   *
+   * @return scripts in the order the statements were queued.
+   */
+  public List<Query> drain() {
+    final var ret = new ArrayList<Query>();
+    final var texts = new ArrayList<String>();
+    final var parameters = new HashMap<String, Value>();
+    for (Query query : queries) {
+      final Map<String, Value> params = query.parameters().asMap(Function.identity());
+      if (texts.size() >= maxStatements || conflicts(parameters, params)) {
+        ret.add(toScript(texts, parameters));
+        texts.clear();
+        parameters.clear();
+      }
+      texts.add(strip(query.text()));
+      parameters.putAll(params);
+    }
+    if (!texts.isEmpty()) {
+      ret.add(toScript(texts, parameters));
+    }
+    this.queries.clear();
+    return ret;
+  }
+
+  static boolean conflicts(Map<String, Value> current, Map<String, Value> next) {
+    for (Map.Entry<String, Value> e : next.entrySet()) {
+      final var existing = current.get(e.getKey());
+      if (null != existing && !existing.equals(e.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static Query toScript(List<String> texts, Map<String, Value> parameters) {
+    return new Query(String.join("; ", texts), new MapValue(new HashMap<>(parameters)));
+  }
+
+  /** Remove any trailing semicolons so the statement can be joined. */
+  static String strip(String text) {
+    var ret = text.strip();
+    while (ret.endsWith(";")) {
+      ret = ret.substring(0, ret.length() - 1).strip();
+    }
+    return ret;
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.neo4j.driver.summary.SummaryCounters;
+
+/**
+ * Count the vertices, edges, tags and properties written by the INSERT, UPDATE, UPSERT and DELETE
+ * statements of a query from their text. Rows are counted without splitting the VALUES of large
+ * batched inserts. Ids referring to the input of a pipe, e.g. {@code $-.id}, are not known and not
+ * counted.
+ */
+final class WriteStatementCounter {
+
+  private static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
+  private static final Pattern INSERT =
+      Pattern.compile(
+          "^INSERT\\s+(VERTEX|EDGE)\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(.*?)\\s+VALUES\\s+(.*)$",
+          FLAGS);
+  private static final Pattern UPDATE =
+      Pattern.compile(
+          "^(?:UPDATE|UPSERT)\\s+(?:VERTEX|EDGE)\\s+.*?\\bSET\\s+(.*?)"
+              + "(?:\\s+(?:WHEN|YIELD)\\s+.*)?$",
+          FLAGS);
+  private static final Pattern DELETE =
+      Pattern.compile("^DELETE\\s+(VERTEX|EDGE)\\s+(.*?)(?:\\s+WITH\\s+EDGE)?$", FLAGS);
+  private static final Pattern DELETE_TAG =
+      Pattern.compile("^DELETE\\s+TAG\\s+(.*?)\\s+FROM\\s+(.*)$", FLAGS);
+
+  private WriteStatementCounter() {}
+
+  static SummaryCounters count(String text) {
+    if (StatementType.WRITE != StatementType.of(text)) {
+      return SummaryCountersImpl.EMPTY;
+    }
+    final var ret = new Counts();
+    for (String statement : StatementType.split(text)) {
+      count(statement, ret);
+    }
+    return ret.build();
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static void count(String statement, Counts counts) {
+    var matcher = INSERT.matcher(statement);
+    if (matcher.matches()) {
+      final long rows = count(statement, matcher.start(3), matcher.end(3));
+      final var schemas = items(matcher.group(2));
+      long properties = 0;
+      for (String schema : schemas) {
+        final int open = schema.indexOf('(');
+        final int close = schema.lastIndexOf(')');
+        properties += open < 0 || close <= open ? 0 : count(schema, open + 1, close);
+      }
+      if ("VERTEX".equalsIgnoreCase(matcher.group(1))) {
+        counts.nodesCreated += rows;
+        counts.labelsAdded += rows * schemas.size();
+      } else {
+        counts.relationshipsCreated += rows;
+      }
+      counts.propertiesSet += rows * properties;
+      return;
+    }
+    matcher = UPDATE.matcher(statement);
+    if (matcher.matches()) {
+      counts.propertiesSet += count(statement, matcher.start(1), matcher.end(1));
+      return;
+    }
+    matcher = DELETE_TAG.matcher(statement);
+    if (matcher.matches()) {
+      counts.labelsRemoved += items(matcher.group(1)).size() * (long) known(matcher.group(2));
+      return;
+    }
+    matcher = DELETE.matcher(statement);
+    if (matcher.matches()) {
+      if ("VERTEX".equalsIgnoreCase(matcher.group(1))) {
+        counts.nodesDeleted += known(matcher.group(2));
+      } else {
+        // the edge type precedes the edges
+        final var edges = matcher.group(2).strip();
+        final int space = edges.indexOf(' ');
+        counts.relationshipsDeleted += space < 0 ? 0 : known(edges.substring(space + 1));
+      }
+    }
+  }
+
+  /** Count the comma separated items of a list outside of strings and brackets. */
+  static int count(String text, int start, int end) {
+    int ret = 0;
+    boolean blank = true;
+    int depth = 0;
+    char quote = 0;
+    for (int i = start; i < end; i++) {
+      final char c = text.charAt(i);
+      if (0 != quote) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'' || c == '`') {
+        quote = c;
+      } else if (c == '(' || c == '[' || c == '{') {
+        depth++;
+      } else if (c == ')' || c == ']' || c == '}') {
+        depth--;
+      } else if (c == ',' && depth <= 0) {
+        ret += blank ? 0 : 1;
+        blank = true;
+        continue;
+      }
+      blank &= Character.isWhitespace(c);
+    }
+    return ret + (blank ? 0 : 1);
+  }
+
+  /** Split a short list, e.g. of tags or ids, on its commas outside of strings and brackets. */
+  static List<String> items(String list) {
+    final var ret = new ArrayList<String>();
+    int start = 0;
+    int depth = 0;
+    char quote = 0;
+    for (int i = 0; i <= list.length(); i++) {
+      final char c = i < list.length() ? list.charAt(i) : ',';
+      if (0 != quote) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'' || c == '`') {
+        quote = c;
+      } else if (c == '(' || c == '[' || c == '{') {
+        depth++;
+      } else if (c == ')' || c == ']' || c == '}') {
+        depth--;
+      } else if (c == ',' && depth <= 0) {
+        final var item = list.substring(start, Math.min(i, list.length())).strip();
+        if (!item.isEmpty()) {
+          ret.add(item);
+        }
+        start = i + 1;
+      }
+    }
+    return ret;
+  }
+
+  /** Count the ids of a list given as literals, rather than referring to a pipe or variable. */
+  static int known(String list) {
+    return (int) items(list).stream().filter(item -> !item.startsWith("$")).count();
+  }
+
+  /** Counts as longs, capped to the int counters of a summary. */
+  static class Counts {
+    long nodesCreated;
+    long nodesDeleted;
+    long relationshipsCreated;
+    long relationshipsDeleted;
+    long propertiesSet;
+    long labelsAdded;
+    long labelsRemoved;
+
+    SummaryCounters build() {
+      return SummaryCountersImpl.builder()
+          .nodesCreated(cap(nodesCreated))
+          .nodesDeleted(cap(nodesDeleted))
+          .relationshipsCreated(cap(relationshipsCreated))
+          .relationshipsDeleted(cap(relationshipsDeleted))
+          .propertiesSet(cap(propertiesSet))
+          .labelsAdded(cap(labelsAdded))
+          .labelsRemoved(cap(labelsRemoved))
+          .build();
+    }
+
+    static int cap(long count) {
+      return (int) Math.min(Integer.MAX_VALUE, count);
+    }
+  }
+}
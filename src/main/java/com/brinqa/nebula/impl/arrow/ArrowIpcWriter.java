@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.arrow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+
+/**
+ * Writes the batches of an {@link ArrowResultSink} to a channel in the Arrow IPC format, the writer
+ * starts with the first batch and closing it ends the output and closes the channel.
+ */
+public class ArrowIpcWriter implements Consumer<VectorSchemaRoot>, AutoCloseable {
+
+  private final WritableByteChannel channel;
+  private final boolean file;
+  private ArrowWriter writer;
+
+  ArrowIpcWriter(WritableByteChannel channel, boolean file) {
+    this.channel = channel;
+    this.file = file;
+  }
+
+  /**
+   * @param channel channel to write to, e.g. a socket.
+   * @return writer of the streaming format, read back with an {@code ArrowStreamReader}.
+   */
+  public static ArrowIpcWriter stream(WritableByteChannel channel) {
+    return new ArrowIpcWriter(channel, false);
+  }
+
+  /**
+   * @param channel channel to write to, e.g. a {@link java.nio.channels.FileChannel}.
+   * @return writer of the random access file format, read back with an {@code ArrowFileReader}.
+   */
+  public static ArrowIpcWriter file(WritableByteChannel channel) {
+    return new ArrowIpcWriter(channel, true);
+  }
+
+  @Override
+  public void accept(VectorSchemaRoot root) {
+    try {
+      if (null == writer) {
+        final var provider = new DictionaryProvider.MapDictionaryProvider();
+        writer =
+            file
+                ? new ArrowFileWriter(root, provider, channel)
+                : new ArrowStreamWriter(root, provider, channel);
+        writer.start();
+      }
+      writer.writeBatch();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (null == writer) {
+      channel.close();
+    } else {
+      writer.close();
+    }
+  }
+}
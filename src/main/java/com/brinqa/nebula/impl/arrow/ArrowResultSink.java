@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.arrow;
+
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Writes the rows of result sets straight into Arrow batches of a fixed number of rows, without
+ * converting them to records. The column types are inferred from the first result set received.
+ *
+ * <p>The same {@link VectorSchemaRoot} is refilled for every batch, the batch consumer must be done
+ * with it when it returns, e.g. an {@link ArrowIpcWriter} writing it to a channel.
+ */
+public class ArrowResultSink implements Consumer<ResultSet>, AutoCloseable {
+
+  private final BufferAllocator allocator;
+  private final int batchSize;
+  private final Consumer<VectorSchemaRoot> batches;
+
+  private List<String> names;
+  private ColumnType[] types;
+  private VectorSchemaRoot root;
+  private int batchRows;
+  private long rows;
+  private boolean flushed;
+
+  /**
+   * The schema is fixed by the first result set received and can not change once a batch is
+   * written. A column with only nulls in it is typed as text, and a later value of another type,
+   * e.g. a float in an integer column, fails {@link #accept(List, List)}. Pass a first result set
+   * representative of the types, or cast the columns in the query.
+   *
+   * @param allocator allocates the memory of the batches.
+   * @param batchSize number of rows per batch, bounds the memory used.
+   * @param batches consumes each batch when it is full.
+   */
+  public ArrowResultSink(
+      BufferAllocator allocator, int batchSize, Consumer<VectorSchemaRoot> batches) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+    this.allocator = allocator;
+    this.batchSize = batchSize;
+    this.batches = batches;
+  }
+
+  @Override
+  public void accept(ResultSet resultSet) {
+    accept(resultSet.getColumnNames(), resultSet.isEmpty() ? List.of() : resultSet.getRows());
+  }
+
+  /**
+   * Write rows, the last batch is only flushed on {@link #close()}.
+   *
+   * @param columnNames names of the columns of the rows.
+   * @param rows rows to write.
+   * @throws IllegalArgumentException if the columns or a value do not match the schema fixed by the
+   *     first rows.
+   */
+  public void accept(List<String> columnNames, List<Row> rows) {
+    if (null == root) {
+      start(columnNames, rows);
+    } else if (!names.equals(columnNames)) {
+      throw new IllegalArgumentException("Columns " + columnNames + " do not match " + names);
+    }
+    for (Row row : rows) {
+      final var values = row.getValues();
+      for (int i = 0; i < types.length; i++) {
+        write(i, values.get(i));
+      }
+      if (++batchRows == batchSize) {
+        flush();
+      }
+    }
+  }
+
+  /**
+   * @return number of rows written so far.
+   */
+  public long rows() {
+    return rows + batchRows;
+  }
+
+  /** Flush the last batch, at least one batch is flushed so the schema is always written. */
+  @Override
+  public void close() {
+    if (null == root) {
+      return;
+    }
+    try {
+      if (batchRows > 0 || !flushed) {
+        flush();
+      }
+    } finally {
+      root.close();
+    }
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  void start(List<String> columnNames, List<Row> sample) {
+    this.names = List.copyOf(columnNames);
+    this.types = new ColumnType[names.size()];
+    for (Row row : sample) {
+      final var values = row.getValues();
+      for (int i = 0; i < types.length; i++) {
+        final var value = values.get(i);
+        if (!isNull(value)) {
+          types[i] = ColumnType.merge(types[i], ColumnType.of(value.getSetField()));
+        }
+      }
+    }
+    final var fields = new ArrayList<Field>(types.length);
+    for (int i = 0; i < types.length; i++) {
+      if (null == types[i]) {
+        // only nulls so far
+        types[i] = ColumnType.TEXT;
+      }
+      fields.add(Field.nullable(names.get(i), types[i].arrowType()));
+    }
+    this.root = VectorSchemaRoot.create(new Schema(fields), allocator);
+    root.allocateNew();
+  }
+
+  void write(int column, Value value) {
+    // freshly allocated vectors are all null, nulls are simply not written
+    if (isNull(value)) {
+      return;
+    }
+    final var type = types[column];
+    if (!type.accepts(value)) {
+      throw new IllegalArgumentException(
+          "Column " + names.get(column) + " of type " + type + " can not hold " + value);
+    }
+    type.write(root.getVector(column), batchRows, value);
+  }
+
+  void flush() {
+    root.setRowCount(batchRows);
+    batches.accept(root);
+    flushed = true;
+    rows += batchRows;
+    batchRows = 0;
+    root.allocateNew();
+  }
+
+  static boolean isNull(Value value) {
+    return null == value || value.getSetField() == Value.NVAL;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.arrow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/** Arrow column types inferred from Nebula value types, each writes raw values into its vector. */
+enum ColumnType {
+  INT(new ArrowType.Int(64, true)) {
+    @Override
+    void write(FieldVector vector, int index, Value value) {
+      ((BigIntVector) vector).setSafe(index, value.getIVal());
+    }
+  },
+  DOUBLE(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)) {
+    @Override
+    void write(FieldVector vector, int index, Value value) {
+      final double d = value.getSetField() == Value.IVAL ? value.getIVal() : value.getFVal();
+      ((Float8Vector) vector).setSafe(index, d);
+    }
+  },
+  BOOL(ArrowType.Bool.INSTANCE) {
+    @Override
+    void write(FieldVector vector, int index, Value value) {
+      ((BitVector) vector).setSafe(index, (Boolean) value.getFieldValue() ? 1 : 0);
+    }
+  },
+  STRING(ArrowType.Utf8.INSTANCE) {
+    @Override
+    void write(FieldVector vector, int index, Value value) {
+      ((VarCharVector) vector).setSafe(index, value.getSVal());
+    }
+  },
+  DATE(new ArrowType.Date(DateUnit.DAY)) {
+    @Override
+    void write(FieldVector vector, int index, Value value) {
+      final var date = value.getDVal();
+      final var epochDay = LocalDate.of(date.year, date.month, date.day).toEpochDay();
+      ((DateDayVector) vector).setSafe(index, (int) epochDay);
+    }
+  },
+  DATETIME(new ArrowType.Timestamp(org.apache.arrow.vector.types.TimeUnit.MICROSECOND, "UTC")) {
+    @Override
+    void write(FieldVector vector, int index, Value value) {
+      // nebula datetimes are stored in UTC
+      final var dt = value.getDtVal();
+      final var epochDay = LocalDate.of(dt.year, dt.month, dt.day).toEpochDay();
+      final var seconds = ((epochDay * 24 + dt.hour) * 60 + dt.minute) * 60 + dt.sec;
+      final var micros = TimeUnit.SECONDS.toMicros(seconds) + dt.microsec;
+      ((TimeStampMicroTZVector) vector).setSafe(index, micros);
+    }
+  },
+  /** Any other or mixed types, written as their text. */
+  TEXT(ArrowType.Utf8.INSTANCE) {
+    @Override
+    void write(FieldVector vector, int index, Value value) {
+      final var bytes =
+          value.getSetField() == Value.SVAL
+              ? value.getSVal()
+              : new ValueWrapper(value, "utf-8", 0).toString().getBytes(UTF_8);
+      ((VarCharVector) vector).setSafe(index, bytes);
+    }
+  };
+
+  private final ArrowType arrowType;
+
+  ColumnType(ArrowType arrowType) {
+    this.arrowType = arrowType;
+  }
+
+  ArrowType arrowType() {
+    return arrowType;
+  }
+
+  /**
+   * @param setField type of a Nebula value.
+   * @return the column type for values of the type.
+   */
+  static ColumnType of(int setField) {
+    switch (setField) {
+      case Value.IVAL:
+        return INT;
+      case Value.FVAL:
+        return DOUBLE;
+      case Value.BVAL:
+        return BOOL;
+      case Value.SVAL:
+        return STRING;
+      case Value.DVAL:
+        return DATE;
+      case Value.DTVAL:
+        return DATETIME;
+      default:
+        return TEXT;
+    }
+  }
+
+  /**
+   * @param type type inferred so far, null if none.
+   * @param next type of the next value.
+   * @return type of a column holding both.
+   */
+  static ColumnType merge(ColumnType type, ColumnType next) {
+    if (null == type || type == next) {
+      return next;
+    }
+    if ((type == INT || type == DOUBLE) && (next == INT || next == DOUBLE)) {
+      return DOUBLE;
+    }
+    return TEXT;
+  }
+
+  /**
+   * @param value value of a row.
+   * @return true if the value can be written to a column of this type.
+   */
+  boolean accepts(Value value) {
+    final var type = of(value.getSetField());
+    return this == TEXT || this == type || (this == DOUBLE && type == INT);
+  }
+
+  abstract void write(FieldVector vector, int index, Value value);
+}
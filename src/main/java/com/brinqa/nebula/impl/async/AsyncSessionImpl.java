@@ -18,9 +18,11 @@ package com.brinqa.nebula.impl.async;
 import com.brinqa.nebula.DriverConfig;
 import com.brinqa.nebula.impl.ResultCursorImpl;
 import com.brinqa.nebula.impl.SessionImpl;
+import com.brinqa.nebula.impl.tracing.TraceContext;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import lombok.AllArgsConstructor;
 import org.neo4j.driver.Bookmark;
 import org.neo4j.driver.Query;
@@ -38,6 +40,7 @@ public class AsyncSessionImpl implements AsyncSession {
 
   private final DriverConfig driverConfig;
   private final SessionImpl session;
+  private final Executor executor;
 
   @Override
   public CompletionStage<ResultCursor> runAsync(String query, Value parameters) {
@@ -114,6 +117,21 @@ public class AsyncSessionImpl implements AsyncSession {
     return work.execute(new AsyncTransactionImpl(this, config));
   }
 
+  /**
+   * Create a loader that batches the lookups of vertices of a tag by id into multi-id fetches.
+   *
+   * @param tag name of the tag to fetch the properties of.
+   * @return a new {@link VertexLoader} object, memoising the vertices it loads.
+   */
+  public VertexLoader vertexLoader(String tag) {
+    return new VertexLoader(
+        tag,
+        query -> session.run(query),
+        driverConfig.getLoaderMaxBatchSize(),
+        driverConfig.getLoaderWindow(),
+        executor);
+  }
+
   // =========================================================================
   // Implementation
   // =========================================================================
@@ -132,9 +150,10 @@ public class AsyncSessionImpl implements AsyncSession {
     // FIXME: create an exception so its easier to track the stack trace
     // so if this does fail it can be set for the return
     return CompletableFuture.supplyAsync(
-        () -> {
-          final Result result = session.run(query, config);
-          return new ResultCursorImpl(result);
-        });
+        TraceContext.wrap(
+            () -> {
+              final Result result = session.run(query, config);
+              return new ResultCursorImpl(result);
+            }));
   }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.async;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import com.brinqa.nebula.impl.QueryConverter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.types.Node;
+
+/**
+ * Batch loader of the vertices of a tag by id. Lookups requested within a short window, or until
+ * the max batch size is reached, are fetched with a single multi-id {@code FETCH PROP ON} query and
+ * the rows are split back to each lookup.
+ *
+ * <p>Lookups are memoised for the life of the loader, so create a loader per unit of work, e.g. a
+ * request, rather than sharing it. This class is thread safe.
+ */
+@Slf4j
+public class VertexLoader {
+
+  private final String tag;
+  private final Function<Query, Result> fetch;
+  private final int maxBatchSize;
+  private final Executor executor;
+  private final Executor delayed;
+
+  private final Map<Object, CompletableFuture<Node>> memo = new ConcurrentHashMap<>();
+  private Map<Object, CompletableFuture<Node>> pending = new LinkedHashMap<>();
+
+  public VertexLoader(
+      String tag, Function<Query, Result> fetch, int maxBatchSize, long window, Executor executor) {
+    this.tag = tag;
+    this.fetch = fetch;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.executor = executor;
+    this.delayed = CompletableFuture.delayedExecutor(window, TimeUnit.MILLISECONDS, executor);
+  }
+
+  /**
+   * Load a vertex by id.
+   *
+   * @param vid id of the vertex, either a string or an integer.
+   * @return stage completed with the node, or null if there is no such vertex with the tag.
+   */
+  public CompletionStage<Node> load(Object vid) {
+    final var key = normalize(vid);
+    final var future = new CompletableFuture<Node>();
+    final var existing = memo.putIfAbsent(key, future);
+    if (null != existing) {
+      return existing;
+    }
+    final Map<Object, CompletableFuture<Node>> full;
+    final boolean first;
+    synchronized (this) {
+      pending.put(key, future);
+      first = 1 == pending.size();
+      full = pending.size() >= maxBatchSize ? takePending() : null;
+    }
+    if (null != full) {
+      executor.execute(() -> fetch(full));
+    } else if (first) {
+      delayed.execute(this::dispatch);
+    }
+    return future;
+  }
+
+  /**
+   * Load several vertices by id.
+   *
+   * @param vids ids of the vertices.
+   * @return stage completed with the nodes in the order of the ids, null for missing vertices.
+   */
+  public CompletionStage<List<Node>> loadMany(Collection<?> vids) {
+    final var futures = vids.stream().map(this::load).map(CompletionStage::toCompletableFuture);
+    final var list = futures.collect(toList());
+    return CompletableFuture.allOf(list.toArray(CompletableFuture[]::new))
+        .thenApply(ignore -> list.stream().map(CompletableFuture::join).collect(toList()));
+  }
+
+  /** Fetch the pending lookups now rather than at the end of the window. */
+  public void dispatch() {
+    final Map<Object, CompletableFuture<Node>> batch;
+    synchronized (this) {
+      batch = takePending();
+    }
+    if (!batch.isEmpty()) {
+      fetch(batch);
+    }
+  }
+
+  /** Forget all the memoised vertices. */
+  public void clear() {
+    memo.clear();
+  }
+
+  /**
+   * Forget a memoised vertex so the next lookup fetches it again.
+   *
+   * @param vid id of the vertex.
+   */
+  public void clear(Object vid) {
+    memo.remove(normalize(vid));
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  Map<Object, CompletableFuture<Node>> takePending() {
+    final var batch = pending;
+    pending = new LinkedHashMap<>();
+    return batch;
+  }
+
+  void fetch(Map<Object, CompletableFuture<Node>> batch) {
+    try {
+      final var ids =
+          batch.keySet().stream().map(QueryConverter::convertToString).collect(joining(", "));
+      final var text = "FETCH PROP ON " + tag + " " + ids + " YIELD id(vertex) AS vid, vertex AS v";
+      final var result = fetch.apply(new Query(text));
+      while (result.hasNext()) {
+        final var record = result.next();
+        final var future = batch.remove(normalize(record.get("vid").asObject()));
+        if (null != future) {
+          future.complete(record.get("v").asNode());
+        }
+      }
+      batch.values().forEach(future -> future.complete(null));
+    } catch (Throwable t) {
+      log.error("Failed to load {} vertices of tag {}.", batch.size(), tag, t);
+      // failures are not memoised so the vertices may be loaded again
+      batch.forEach(
+          (key, future) -> {
+            memo.remove(key, future);
+            future.completeExceptionally(t);
+          });
+    }
+  }
+
+  /** Integer ids of any width are the same vertex. */
+  static Object normalize(Object vid) {
+    return vid instanceof Number ? (Object) ((Number) vid).longValue() : vid;
+  }
+}
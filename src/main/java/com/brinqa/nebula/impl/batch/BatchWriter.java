@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import com.brinqa.nebula.DriverConfig;
+import com.brinqa.nebula.impl.SessionImpl;
+import com.brinqa.nebula.impl.schema.SpaceSchema;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.exceptions.ClientException;
+
+/**
+ * Buffer vertices and edges and write them as multi-row INSERT statements instead of a round trip
+ * per row. Full statements are executed in the background on up to {@link
+ * DriverConfig#getBatchParallelism()} pooled connections at once, callers block when that many
+ * statements are in-flight.
+ *
+ * <p>This class is thread safe. A failed statement is reported on the next call to add, flush or
+ * close.
+ */
+@Slf4j
+public class BatchWriter implements AutoCloseable {
+
+  private final SessionImpl session;
+  private final Executor executor;
+  private final int parallelism;
+  private final Semaphore inFlight;
+  private final InsertStatementBuilder builder;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  public BatchWriter(
+      DriverConfig driverConfig, SessionImpl session, SpaceSchema schema, Executor executor) {
+    this.session = session;
+    this.executor = executor;
+    this.parallelism = Math.max(1, driverConfig.getBatchParallelism());
+    this.inFlight = new Semaphore(parallelism);
+    this.builder =
+        new InsertStatementBuilder(
+            driverConfig.getBatchMaxRows(), driverConfig.getBatchMaxBytes(), schema);
+  }
+
+  public void add(VertexRow row) {
+    final List<InsertStatement> full;
+    synchronized (builder) {
+      checkFailure();
+      full = builder.add(row);
+    }
+    full.forEach(this::submit);
+  }
+
+  public void add(EdgeRow row) {
+    final List<InsertStatement> full;
+    synchronized (builder) {
+      checkFailure();
+      full = builder.add(row);
+    }
+    full.forEach(this::submit);
+  }
+
+  public void addVertices(Iterable<VertexRow> rows) {
+    rows.forEach(this::add);
+  }
+
+  public void addEdges(Iterable<EdgeRow> rows) {
+    rows.forEach(this::add);
+  }
+
+  /**
+   * Write all the buffered rows and wait for every in-flight statement to complete.
+   *
+   * @throws ClientException if any statement failed since the last check.
+   */
+  public void flush() {
+    final List<InsertStatement> pending;
+    synchronized (builder) {
+      pending = builder.drain();
+    }
+    pending.forEach(this::submit);
+    // all permits are only available once nothing is in-flight
+    inFlight.acquireUninterruptibly(parallelism);
+    inFlight.release(parallelism);
+    checkFailure();
+  }
+
+  @Override
+  public void close() {
+    try {
+      flush();
+    } finally {
+      session.close();
+    }
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  void submit(InsertStatement statement) {
+    inFlight.acquireUninterruptibly();
+    try {
+      executor.execute(() -> execute(statement));
+    } catch (RejectedExecutionException e) {
+      inFlight.release();
+      throw new ClientException("Driver is closed.", e);
+    }
+  }
+
+  void execute(InsertStatement statement) {
+    try {
+      session.executeQuery(new Query(statement.getText()), TransactionConfig.empty());
+    } catch (Throwable t) {
+      log.error("Failed to write batch of {} rows.", statement.getRows(), t);
+      failure.compareAndSet(null, t);
+    } finally {
+      inFlight.release();
+    }
+  }
+
+  void checkFailure() {
+    final var t = failure.getAndSet(null);
+    if (null != t) {
+      throw new ClientException("Batched write failed.", t);
+    }
+  }
+}
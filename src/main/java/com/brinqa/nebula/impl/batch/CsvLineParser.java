@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parse a single CSV line, fields may be quoted with {@code "} and quotes within a quoted field are
+ * doubled. An empty unquoted field is null, a quoted field is always a string.
+ */
+public class CsvLineParser {
+
+  private final char delimiter;
+
+  public CsvLineParser(char delimiter) {
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * @param line line without the line terminator.
+   * @return values of the fields in order.
+   */
+  public List<String> parse(CharSequence line) {
+    final var ret = new ArrayList<String>();
+    final var field = new StringBuilder();
+    boolean quoted = false;
+    boolean wasQuoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      final char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+        wasQuoted = true;
+      } else if (c == delimiter) {
+        ret.add(toValue(field, wasQuoted));
+        field.setLength(0);
+        wasQuoted = false;
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field: " + line);
+    }
+    ret.add(toValue(field, wasQuoted));
+    return ret;
+  }
+
+  static String toValue(StringBuilder field, boolean quoted) {
+    return !quoted && field.length() == 0 ? null : field.toString();
+  }
+}
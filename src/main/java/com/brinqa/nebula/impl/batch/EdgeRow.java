@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import java.util.Map;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class EdgeRow {
+  /** Name of the edge type to insert. */
+  @NonNull String edgeType;
+  /** Source vertex ID. */
+  @NonNull Object srcId;
+  /** Destination vertex ID. */
+  @NonNull Object dstId;
+  /** Rank of the edge, distinguishes parallel edges between the same vertices. */
+  @Default long rank = 0L;
+  /** Property values by name, in insertion order. */
+  @Singular Map<String, Object> properties;
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import com.brinqa.nebula.impl.schema.PropertyType;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A flat file of vertices of a tag or edges of an edge type to import. CSV files have a header line
+ * naming the columns, values are strings parsed as the types of the properties, declared by the
+ * schema of the space or by {@link #getColumnTypes()}. NDJSON files have an object per line, values
+ * keep their JSON type. Neither format may have line breaks within a record.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ImportJob {
+
+  public enum Format {
+    CSV,
+    NDJSON
+  }
+
+  public enum Kind {
+    VERTEX,
+    EDGE
+  }
+
+  /** File to import. */
+  @NonNull Path file;
+  /** Format of the file. */
+  @NonNull @Default Format format = Format.CSV;
+  /** Field delimiter of a CSV file. */
+  @Default char delimiter = ',';
+  /** Whether the file holds vertices or edges. */
+  @NonNull @Default Kind kind = Kind.VERTEX;
+  /** Name of the tag or edge type. */
+  @NonNull String name;
+  /** Column of the vertex ID. */
+  @Default String idColumn = "id";
+  /** Column of the source vertex ID of an edge. */
+  @Default String srcColumn = "src";
+  /** Column of the destination vertex ID of an edge. */
+  @Default String dstColumn = "dst";
+  /** Column of the rank of an edge, ranks are 0 if not set. */
+  String rankColumn;
+  /** Columns to insert as properties of the same name, all other columns if empty. */
+  @Singular List<String> properties;
+  /** Types of the property columns of a CSV file, override the types declared by the schema. */
+  @Singular Map<String, PropertyType> columnTypes;
+  /** Set to true if vertex IDs are integers, string columns are parsed. */
+  boolean integerIds;
+  /** File to record progress in, an import with a checkpoint resumes after the rows it records. */
+  Path checkpoint;
+  /** Notified of the progress after every chunk of the file. */
+  @NonNull @Default Consumer<ImportStats> listener = stats -> {};
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.brinqa.nebula.DriverConfig;
+import com.brinqa.nebula.impl.schema.ElementSchema;
+import com.brinqa.nebula.impl.schema.PropertyDefinition;
+import com.brinqa.nebula.impl.schema.SpaceSchema;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.exceptions.ClientException;
+
+/**
+ * Import a flat file as batched INSERT statements. The file is memory-mapped and split in chunks at
+ * line boundaries, up to {@link DriverConfig#getImportParallelism()} chunks are parsed and written
+ * at once, each on its own pooled connection.
+ *
+ * <p>Chunks complete out of order, the checkpoint records the end of the chunks completed without
+ * gaps, so a failed import resumed from it writes some rows again. Inserts are idempotent, so rows
+ * written twice are simply overwritten.
+ */
+@Slf4j
+public class ImportPipeline {
+  /** Size of the windows mapped to find the end of a line. */
+  private static final int LINE_WINDOW = 64 * 1024;
+
+  private final ImportJob job;
+  private final SpaceSchema schema;
+  private final Function<Query, Result> run;
+  private final Executor executor;
+  private final int maxRows;
+  private final int maxBytes;
+  private final int chunkBytes;
+  private final int parallelism;
+
+  private final AtomicLong rows = new AtomicLong();
+  private final AtomicLong bytes = new AtomicLong();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final TreeMap<Integer, Long> completed = new TreeMap<>();
+  private int nextChunk;
+  private long started;
+
+  public ImportPipeline(
+      DriverConfig driverConfig,
+      ImportJob job,
+      SpaceSchema schema,
+      Function<Query, Result> run,
+      Executor executor) {
+    this.job = job;
+    this.schema = withColumnTypes(schema, job);
+    this.run = run;
+    this.executor = executor;
+    this.maxRows = driverConfig.getBatchMaxRows();
+    this.maxBytes = driverConfig.getBatchMaxBytes();
+    this.chunkBytes = Math.max(1, driverConfig.getImportChunkBytes());
+    this.parallelism = Math.max(1, driverConfig.getImportParallelism());
+  }
+
+  /**
+   * Import the file, blocking until every chunk is written.
+   *
+   * @return rows and bytes imported, excluding any skipped by the checkpoint.
+   * @throws IllegalArgumentException if the type of a property column of a CSV file is unknown,
+   *     before anything is written.
+   * @throws ClientException if any chunk failed, the checkpoint records the progress made.
+   */
+  public ImportStats run() {
+    started = System.nanoTime();
+    final var inFlight = new Semaphore(parallelism);
+    try (final var channel = FileChannel.open(job.getFile(), StandardOpenOption.READ)) {
+      final long size = channel.size();
+      List<String> header = null;
+      long position = 0;
+      if (ImportJob.Format.CSV == job.getFormat() && size > 0) {
+        position = lineEnd(channel, 0, size);
+        final var line = UTF_8.decode(channel.map(MapMode.READ_ONLY, 0, position));
+        header = new CsvLineParser(job.getDelimiter()).parse(stripLineEnd(line));
+        checkColumnTypes(header);
+      }
+      position = Math.max(position, readCheckpoint());
+      final var columns = header;
+      for (int index = 0; position < size && null == failure.get(); index++) {
+        final var chunk = new Chunk(index, position, lineEnd(channel, position + chunkBytes, size));
+        inFlight.acquireUninterruptibly();
+        try {
+          executor.execute(() -> process(channel, chunk, columns, inFlight));
+        } catch (RejectedExecutionException e) {
+          inFlight.release();
+          throw new ClientException("Driver is closed.", e);
+        }
+        position = chunk.end;
+      }
+      // all permits are only available once no chunk is in-flight
+      inFlight.acquireUninterruptibly(parallelism);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read " + job.getFile(), e);
+    }
+    final var t = failure.get();
+    if (null != t) {
+      throw new ClientException("Import of " + job.getFile() + " failed.", t);
+    }
+    final var stats = stats();
+    log.info(
+        "Imported {} rows of {} in {} ms, {} rows/s.",
+        stats.getRows(),
+        job.getFile(),
+        stats.getElapsedNanos() / 1_000_000,
+        (long) stats.rowsPerSecond());
+    return stats;
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  void process(FileChannel channel, Chunk chunk, List<String> header, Semaphore inFlight) {
+    try {
+      final var text = UTF_8.decode(channel.map(MapMode.READ_ONLY, chunk.start, chunk.length()));
+      final var csv = new CsvLineParser(job.getDelimiter());
+      final var json = new JsonLineParser();
+      final var builder = new InsertStatementBuilder(maxRows, maxBytes, schema);
+      long count = 0;
+      int from = 0;
+      while (from < text.length() && null == failure.get()) {
+        int to = from;
+        while (to < text.length() && text.charAt(to) != '\n') {
+          to++;
+        }
+        final var line = stripLineEnd(text.subSequence(from, to));
+        from = to + 1;
+        if (line.toString().isBlank()) {
+          continue;
+        }
+        final Map<String, Object> values =
+            null == header ? json.parse(line) : toValues(header, csv.parse(line));
+        final var statements =
+            ImportJob.Kind.VERTEX == job.getKind()
+                ? builder.add(toVertex(values))
+                : builder.add(toEdge(values));
+        statements.forEach(this::execute);
+        count++;
+      }
+      builder.drain().forEach(this::execute);
+      rows.addAndGet(count);
+      bytes.addAndGet(chunk.length());
+      complete(chunk);
+      job.getListener().accept(stats());
+    } catch (Throwable t) {
+      log.error("Failed to import bytes {} to {} of {}.", chunk.start, chunk.end, job.getFile(), t);
+      failure.compareAndSet(null, t);
+    } finally {
+      inFlight.release();
+    }
+  }
+
+  /** CSV values are strings, each property column needs a type to be written as. */
+  void checkColumnTypes(List<String> header) {
+    final var element = element(schema, job);
+    for (String column : toProperties(toValues(header, header)).keySet()) {
+      if (null == element || null == element.get(column)) {
+        throw new IllegalArgumentException(
+            "Unknown type of column "
+                + column
+                + " of "
+                + job.getFile()
+                + ", declare the column types of the job or enable the schema cache.");
+      }
+    }
+  }
+
+  void execute(InsertStatement statement) {
+    run.apply(new Query(statement.getText())).consume();
+  }
+
+  VertexRow toVertex(Map<String, Object> values) {
+    return VertexRow.builder()
+        .tag(job.getName())
+        .vid(toVid(values.get(job.getIdColumn())))
+        .properties(toProperties(values))
+        .build();
+  }
+
+  EdgeRow toEdge(Map<String, Object> values) {
+    final var builder =
+        EdgeRow.builder()
+            .edgeType(job.getName())
+            .srcId(toVid(values.get(job.getSrcColumn())))
+            .dstId(toVid(values.get(job.getDstColumn())))
+            .properties(toProperties(values));
+    final var rank = null == job.getRankColumn() ? null : values.get(job.getRankColumn());
+    if (null != rank) {
+      builder.rank(toLong(rank));
+    }
+    return builder.build();
+  }
+
+  Map<String, Object> toProperties(Map<String, Object> values) {
+    final var ret = new LinkedHashMap<String, Object>();
+    if (job.getProperties().isEmpty()) {
+      values.forEach(ret::put);
+      ret.keySet().remove(job.getIdColumn());
+      ret.keySet().remove(job.getSrcColumn());
+      ret.keySet().remove(job.getDstColumn());
+      ret.keySet().remove(job.getRankColumn());
+    } else {
+      job.getProperties().forEach(name -> ret.put(name, values.get(name)));
+    }
+    return ret;
+  }
+
+  Object toVid(Object value) {
+    if (null == value) {
+      throw new IllegalArgumentException("Missing vertex ID.");
+    }
+    if (job.isIntegerIds()) {
+      return toLong(value);
+    }
+    return value instanceof Number ? value : value.toString();
+  }
+
+  /** Advance the checkpoint over the chunks completed without gaps. */
+  synchronized void complete(Chunk chunk) throws IOException {
+    completed.put(chunk.index, chunk.end);
+    Long end = null;
+    while (completed.containsKey(nextChunk)) {
+      end = completed.remove(nextChunk++);
+    }
+    if (null != end && null != job.getCheckpoint()) {
+      final var checkpoint = job.getCheckpoint();
+      final var tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+      Files.writeString(tmp, Long.toString(end));
+      Files.move(
+          tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+
+  long readCheckpoint() throws IOException {
+    final var checkpoint = job.getCheckpoint();
+    if (null == checkpoint || !Files.exists(checkpoint)) {
+      return 0L;
+    }
+    final var position = Long.parseLong(Files.readString(checkpoint).strip());
+    log.info("Resuming import of {} at byte {}.", job.getFile(), position);
+    return position;
+  }
+
+  ImportStats stats() {
+    return new ImportStats(rows.get(), bytes.get(), System.nanoTime() - started);
+  }
+
+  static ElementSchema element(SpaceSchema schema, ImportJob job) {
+    return ImportJob.Kind.VERTEX == job.getKind()
+        ? schema.tag(job.getName())
+        : schema.edge(job.getName());
+  }
+
+  /** Schema of the space with the column types of the job declared on its tag or edge type. */
+  static SpaceSchema withColumnTypes(SpaceSchema schema, ImportJob job) {
+    if (job.getColumnTypes().isEmpty()) {
+      return schema;
+    }
+    final var element = element(schema, job);
+    final var definitions = new LinkedHashMap<String, PropertyDefinition>();
+    if (null != element) {
+      element.getProperties().forEach(property -> definitions.put(property.getName(), property));
+    }
+    job.getColumnTypes()
+        .forEach((name, type) -> definitions.put(name, new PropertyDefinition(name, type, true)));
+    final var elements =
+        Map.of(job.getName(), new ElementSchema(job.getName(), List.copyOf(definitions.values())));
+    return ImportJob.Kind.VERTEX == job.getKind()
+        ? new SpaceSchema(schema.getVidType(), elements, Map.of())
+        : new SpaceSchema(schema.getVidType(), Map.of(), elements);
+  }
+
+  static long toLong(Object value) {
+    if (value instanceof Number) {
+      return ((Number) value).longValue();
+    }
+    return Long.parseLong(value.toString());
+  }
+
+  static Map<String, Object> toValues(List<String> header, List<String> fields) {
+    final var ret = new LinkedHashMap<String, Object>();
+    for (int i = 0; i < header.size() && i < fields.size(); i++) {
+      ret.put(header.get(i), fields.get(i));
+    }
+    return ret;
+  }
+
+  static CharSequence stripLineEnd(CharSequence line) {
+    int end = line.length();
+    while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) {
+      end--;
+    }
+    return line.subSequence(0, end);
+  }
+
+  /** Find the position just after the end of the line at or after the position. */
+  static long lineEnd(FileChannel channel, long position, long size) throws IOException {
+    long pos = Math.min(position, size);
+    while (pos < size) {
+      final var window = channel.map(MapMode.READ_ONLY, pos, Math.min(LINE_WINDOW, size - pos));
+      while (window.hasRemaining()) {
+        pos++;
+        if (window.get() == '\n') {
+          return pos;
+        }
+      }
+    }
+    return size;
+  }
+
+  /** Range of bytes of the file, starting and ending at a line boundary. */
+  static class Chunk {
+    final int index;
+    final long start;
+    final long end;
+
+    Chunk(int index, long start, long end) {
+      this.index = index;
+      this.start = start;
+      this.end = end;
+    }
+
+    long length() {
+      return end - start;
+    }
+  }
+}
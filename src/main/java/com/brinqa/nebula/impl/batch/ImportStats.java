@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+
+@Value
+public class ImportStats {
+  /** Number of rows imported. */
+  long rows;
+  /** Number of bytes of the file imported. */
+  long bytes;
+  /** Time since the import started. */
+  long elapsedNanos;
+
+  /**
+   * @return throughput of the import so far.
+   */
+  public double rowsPerSecond() {
+    return elapsedNanos <= 0 ? 0.0 : rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import com.brinqa.nebula.impl.QueryConverter;
+import com.brinqa.nebula.impl.schema.ElementSchema;
+import com.brinqa.nebula.impl.schema.PropertyType;
+import com.brinqa.nebula.impl.schema.SpaceSchema;
+import com.google.common.base.Utf8;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Coalesce vertex and edge rows into multi-row INSERT statements, e.g. {@code INSERT VERTEX
+ * Host(name) VALUES 1:("a"), 2:("b")}. Rows are grouped by tag or edge type and property names, a
+ * group is emitted as a statement once it reaches the row limit or when the next row would push the
+ * statement text over the byte budget.
+ *
+ * <p>With the schema of the space, properties are ordered as declared so rows group regardless of
+ * the order of their properties, and values and IDs are rendered as literals of the declared types.
+ *
+ * <p>This class is not thread safe.
+ */
+public class InsertStatementBuilder {
+  private static final String SEPARATOR = ", ";
+
+  private final int maxRows;
+  private final int maxBytes;
+  private final SpaceSchema schema;
+  private final Map<String, Group> groups = new LinkedHashMap<>();
+
+  public InsertStatementBuilder(int maxRows, int maxBytes) {
+    this(maxRows, maxBytes, SpaceSchema.EMPTY);
+  }
+
+  public InsertStatementBuilder(int maxRows, int maxBytes, SpaceSchema schema) {
+    if (maxRows <= 0 || maxBytes <= 0) {
+      throw new IllegalArgumentException("Batch limits must be positive.");
+    }
+    this.maxRows = maxRows;
+    this.maxBytes = maxBytes;
+    this.schema = schema;
+  }
+
+  /**
+   * Add a vertex to its group.
+   *
+   * @param row vertex to insert.
+   * @return statements for any groups that filled up, usually empty.
+   */
+  public List<InsertStatement> add(VertexRow row) {
+    final var element = schema.tag(row.getTag());
+    final var properties = order(element, row.getProperties());
+    final var header = header("VERTEX", row.getTag(), properties.keySet());
+    final var value = toVid(row.getVid()) + ":" + toValues(element, properties);
+    return add(header, value);
+  }
+
+  /**
+   * Add an edge to its group.
+   *
+   * @param row edge to insert.
+   * @return statements for any groups that filled up, usually empty.
+   */
+  public List<InsertStatement> add(EdgeRow row) {
+    final var element = schema.edge(row.getEdgeType());
+    final var properties = order(element, row.getProperties());
+    final var header = header("EDGE", row.getEdgeType(), properties.keySet());
+    final var value =
+        toVid(row.getSrcId())
+            + "->"
+            + toVid(row.getDstId())
+            + "@"
+            + row.getRank()
+            + ":"
+            + toValues(element, properties);
+    return add(header, value);
+  }
+
+  /**
+   * @return statements for all the partially filled groups, the builder is empty afterwards.
+   */
+  public List<InsertStatement> drain() {
+    final var ret = new ArrayList<InsertStatement>(groups.size());
+    for (Group group : groups.values()) {
+      if (group.rows > 0) {
+        ret.add(group.build());
+      }
+    }
+    groups.clear();
+    return ret;
+  }
+
+  /**
+   * @return true if there are no rows waiting to be emitted.
+   */
+  public boolean isEmpty() {
+    return groups.values().stream().allMatch(g -> g.rows == 0);
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  List<InsertStatement> add(String header, String value) {
+    final var group = groups.computeIfAbsent(header, Group::new);
+    final int valueBytes = Utf8.encodedLength(value);
+    final var ret = new ArrayList<InsertStatement>(1);
+    // emit the current statement if this row would push it over budget
+    if (group.rows > 0 && group.bytes + SEPARATOR.length() + valueBytes > maxBytes) {
+      ret.add(group.build());
+    }
+    group.append(value, valueBytes);
+    if (group.rows >= maxRows) {
+      ret.add(group.build());
+    }
+    return ret;
+  }
+
+  static String header(String kind, String name, Collection<String> propertyNames) {
+    final var names = String.join(SEPARATOR, propertyNames);
+    return "INSERT " + kind + " " + name + "(" + names + ") VALUES ";
+  }
+
+  static Map<String, Object> order(ElementSchema element, Map<String, Object> properties) {
+    return null == element ? properties : element.order(properties);
+  }
+
+  static String toValues(ElementSchema element, Map<String, Object> properties) {
+    final var joiner = new StringJoiner(SEPARATOR, "(", ")");
+    properties.forEach(
+        (name, value) ->
+            joiner.add(
+                null == element
+                    ? QueryConverter.convertToString(value)
+                    : element.literal(name, value)));
+    return joiner.toString();
+  }
+
+  String toVid(Object vid) {
+    if (PropertyType.OTHER != schema.getVidType()) {
+      return schema.vid(vid);
+    }
+    if (vid instanceof Number || vid instanceof String) {
+      return QueryConverter.convertToString(vid);
+    }
+    throw new IllegalArgumentException("Unsupported VID type: " + vid.getClass());
+  }
+
+  /** Rows for a single INSERT statement header. */
+  static class Group {
+    private final String header;
+    private final int headerBytes;
+    private final StringBuilder values = new StringBuilder();
+    private int rows;
+    private int bytes;
+
+    Group(String header) {
+      this.header = header;
+      this.headerBytes = Utf8.encodedLength(header);
+      this.bytes = headerBytes;
+    }
+
+    void append(String value, int valueBytes) {
+      if (rows > 0) {
+        values.append(SEPARATOR);
+        bytes += SEPARATOR.length();
+      }
+      values.append(value);
+      bytes += valueBytes;
+      rows++;
+    }
+
+    InsertStatement build() {
+      final var statement = new InsertStatement(header + values, rows);
+      values.setLength(0);
+      rows = 0;
+      bytes = headerBytes;
+      return statement;
+    }
+  }
+}
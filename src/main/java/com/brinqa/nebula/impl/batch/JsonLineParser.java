@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parse a single line of newline delimited JSON. Objects become ordered maps, arrays lists,
+ * integral numbers longs and other numbers doubles.
+ *
+ * <p>This class is not thread safe, use a parser per thread.
+ */
+public class JsonLineParser {
+
+  private CharSequence text;
+  private int pos;
+
+  /**
+   * @param line a JSON object.
+   * @return the members of the object in order.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, Object> parse(CharSequence line) {
+    this.text = line;
+    this.pos = 0;
+    skipWhitespace();
+    if (peek() != '{') {
+      throw error("Expected an object");
+    }
+    final var ret = (Map<String, Object>) value();
+    skipWhitespace();
+    if (pos < text.length()) {
+      throw error("Unexpected trailing characters");
+    }
+    return ret;
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  Object value() {
+    skipWhitespace();
+    final char c = peek();
+    switch (c) {
+      case '{':
+        return object();
+      case '[':
+        return array();
+      case '"':
+        return string();
+      case 't':
+        return literal("true", Boolean.TRUE);
+      case 'f':
+        return literal("false", Boolean.FALSE);
+      case 'n':
+        return literal("null", null);
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          return number();
+        }
+        throw error("Unexpected character '" + c + "'");
+    }
+  }
+
+  Map<String, Object> object() {
+    final var ret = new LinkedHashMap<String, Object>();
+    pos++;
+    skipWhitespace();
+    if (peek() == '}') {
+      pos++;
+      return ret;
+    }
+    while (true) {
+      skipWhitespace();
+      if (peek() != '"') {
+        throw error("Expected a member name");
+      }
+      final var name = string();
+      skipWhitespace();
+      expect(':');
+      ret.put(name, value());
+      skipWhitespace();
+      if (peek() == ',') {
+        pos++;
+      } else {
+        expect('}');
+        return ret;
+      }
+    }
+  }
+
+  List<Object> array() {
+    final var ret = new ArrayList<>();
+    pos++;
+    skipWhitespace();
+    if (peek() == ']') {
+      pos++;
+      return ret;
+    }
+    while (true) {
+      ret.add(value());
+      skipWhitespace();
+      if (peek() == ',') {
+        pos++;
+      } else {
+        expect(']');
+        return ret;
+      }
+    }
+  }
+
+  String string() {
+    pos++;
+    final var ret = new StringBuilder();
+    while (true) {
+      final char c = next();
+      if (c == '"') {
+        return ret.toString();
+      }
+      if (c != '\\') {
+        ret.append(c);
+        continue;
+      }
+      final char e = next();
+      switch (e) {
+        case 'b':
+          ret.append('\b');
+          break;
+        case 'f':
+          ret.append('\f');
+          break;
+        case 'n':
+          ret.append('\n');
+          break;
+        case 'r':
+          ret.append('\r');
+          break;
+        case 't':
+          ret.append('\t');
+          break;
+        case 'u':
+          if (pos + 4 > text.length()) {
+            throw error("Invalid unicode escape");
+          }
+          ret.append((char) Integer.parseInt(text.subSequence(pos, pos + 4).toString(), 16));
+          pos += 4;
+          break;
+        default:
+          ret.append(e);
+      }
+    }
+  }
+
+  Object number() {
+    final int start = pos;
+    boolean integral = true;
+    while (pos < text.length()) {
+      final char c = text.charAt(pos);
+      if (c == '.' || c == 'e' || c == 'E') {
+        integral = false;
+      } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+        break;
+      }
+      pos++;
+    }
+    final var number = text.subSequence(start, pos).toString();
+    try {
+      return integral ? (Object) Long.parseLong(number) : (Object) Double.parseDouble(number);
+    } catch (NumberFormatException e) {
+      throw error("Invalid number " + number);
+    }
+  }
+
+  Object literal(String literal, Object value) {
+    if (pos + literal.length() > text.length()
+        || !literal.contentEquals(text.subSequence(pos, pos + literal.length()))) {
+      throw error("Unexpected literal");
+    }
+    pos += literal.length();
+    return value;
+  }
+
+  void skipWhitespace() {
+    while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+      pos++;
+    }
+  }
+
+  void expect(char c) {
+    if (next() != c) {
+      throw error("Expected '" + c + "'");
+    }
+  }
+
+  char peek() {
+    if (pos >= text.length()) {
+      throw error("Unexpected end of line");
+    }
+    return text.charAt(pos);
+  }
+
+  char next() {
+    final char c = peek();
+    pos++;
+    return c;
+  }
+
+  IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at " + pos + ": " + text);
+  }
+}
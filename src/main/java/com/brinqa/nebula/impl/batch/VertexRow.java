@@ -0,0 +1,33 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import java.util.Map;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class VertexRow {
+  /** Name of the tag to insert. */
+  @NonNull String tag;
+  /** Vertex ID, either a number or a string depending on the VID type of the space. */
+  @NonNull Object vid;
+  /** Property values by name, in insertion order. */
+  @Singular Map<String, Object> properties;
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.columnar;
+
+import java.util.BitSet;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+
+/** A column of a {@link ColumnarResult}, typed subclasses give access without boxing. */
+public abstract class Column {
+
+  private final String name;
+  private final int size;
+  private final BitSet nulls;
+
+  Column(String name, int size, BitSet nulls) {
+    this.name = name;
+    this.size = size;
+    this.nulls = nulls;
+  }
+
+  /**
+   * @return name of the column.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return number of rows.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param row index of the row.
+   * @return true if the value of the row is null.
+   */
+  public boolean isNull(int row) {
+    return nulls.get(row);
+  }
+
+  /**
+   * @return number of null values.
+   */
+  public int nullCount() {
+    return nulls.cardinality();
+  }
+
+  /**
+   * Boxed access, e.g. for generic code.
+   *
+   * @param row index of the row.
+   * @return the value of the row, {@link Values#NULL} if it is null.
+   */
+  public Value get(int row) {
+    return isNull(row) ? Values.NULL : value(row);
+  }
+
+  abstract Value value(int row);
+}
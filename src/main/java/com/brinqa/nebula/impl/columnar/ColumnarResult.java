@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.neo4j.driver.internal.util.QueryKeys;
+
+/**
+ * Column oriented view of a result, integer, float and boolean columns are decoded straight from
+ * the received data set into primitive arrays and string columns are dictionary encoded, so no
+ * object is created per cell. Columns of other or mixed types are converted per cell when read.
+ */
+public class ColumnarResult {
+
+  private final QueryKeys keys;
+  private final int rowCount;
+  private final List<Column> columns;
+
+  ColumnarResult(QueryKeys keys, int rowCount, List<Column> columns) {
+    this.keys = keys;
+    this.rowCount = rowCount;
+    this.columns = columns;
+  }
+
+  /**
+   * Decode the rows of a result set into columns.
+   *
+   * @param resultSet result set received.
+   * @return the columns.
+   */
+  public static ColumnarResult decode(ResultSet resultSet) {
+    final var names = resultSet.getColumnNames();
+    final List<Row> rows = resultSet.isEmpty() ? List.of() : resultSet.getRows();
+    final var columns = new ArrayList<Column>(names.size());
+    for (int i = 0; i < names.size(); i++) {
+      columns.add(decode(resultSet, names.get(i), rows, i));
+    }
+    return new ColumnarResult(new QueryKeys(names), rows.size(), columns);
+  }
+
+  /**
+   * @return names of the columns.
+   */
+  public List<String> keys() {
+    return keys.keys();
+  }
+
+  /**
+   * @return number of rows.
+   */
+  public int rowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @param index index of the column.
+   * @return the column.
+   */
+  public Column column(int index) {
+    return columns.get(index);
+  }
+
+  /**
+   * @param name name of the column.
+   * @return the column.
+   * @throws NoSuchElementException if there is no such column.
+   */
+  public Column column(String name) {
+    final var index = keys.indexOf(name);
+    if (index < 0) {
+      throw new NoSuchElementException("Unknown column '" + name + "', known columns " + keys());
+    }
+    return columns.get(index);
+  }
+
+  /**
+   * @param name name of the column.
+   * @return the column.
+   * @throws ClassCastException if it is not an integer column.
+   */
+  public LongColumn longColumn(String name) {
+    return (LongColumn) column(name);
+  }
+
+  /**
+   * @param name name of the column.
+   * @return the column.
+   * @throws ClassCastException if it is neither a float nor a mixed integer and float column.
+   */
+  public DoubleColumn doubleColumn(String name) {
+    return (DoubleColumn) column(name);
+  }
+
+  /**
+   * @param name name of the column.
+   * @return the column.
+   * @throws ClassCastException if it is not a boolean column.
+   */
+  public BooleanColumn booleanColumn(String name) {
+    return (BooleanColumn) column(name);
+  }
+
+  /**
+   * @param name name of the column.
+   * @return the column.
+   * @throws ClassCastException if it is not a string column.
+   */
+  public StringColumn stringColumn(String name) {
+    return (StringColumn) column(name);
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static Column decode(ResultSet resultSet, String name, List<Row> rows, int index) {
+    final int size = rows.size();
+    final var nulls = new BitSet(size);
+    int type = -1;
+    for (int row = 0; row < size; row++) {
+      final var value = rows.get(row).getValues().get(index);
+      if (isNull(value)) {
+        nulls.set(row);
+      } else {
+        type = merge(type, value.getSetField());
+      }
+    }
+    switch (type) {
+      case Value.IVAL:
+        final var longs = new long[size];
+        for (int row = nulls.nextClearBit(0); row < size; row = nulls.nextClearBit(row + 1)) {
+          longs[row] = rows.get(row).getValues().get(index).getIVal();
+        }
+        return new LongColumn(name, longs, nulls);
+      case Value.FVAL:
+        final var doubles = new double[size];
+        for (int row = nulls.nextClearBit(0); row < size; row = nulls.nextClearBit(row + 1)) {
+          final var value = rows.get(row).getValues().get(index);
+          doubles[row] =
+              value.getSetField() == Value.IVAL ? (double) value.getIVal() : value.getFVal();
+        }
+        return new DoubleColumn(name, doubles, nulls);
+      case Value.BVAL:
+        final var booleans = new boolean[size];
+        for (int row = nulls.nextClearBit(0); row < size; row = nulls.nextClearBit(row + 1)) {
+          booleans[row] = (Boolean) rows.get(row).getValues().get(index).getFieldValue();
+        }
+        return new BooleanColumn(name, booleans, nulls);
+      case Value.SVAL:
+        final var codes = new int[size];
+        final var dictionary = new ArrayList<String>();
+        final var lookup = new HashMap<ByteBuffer, Integer>();
+        for (int row = nulls.nextClearBit(0); row < size; row = nulls.nextClearBit(row + 1)) {
+          final var bytes = rows.get(row).getValues().get(index).getSVal();
+          // look up by content so each distinct string is decoded once
+          codes[row] =
+              lookup.computeIfAbsent(
+                  ByteBuffer.wrap(bytes),
+                  key -> {
+                    dictionary.add(new String(bytes, UTF_8));
+                    return dictionary.size() - 1;
+                  });
+        }
+        return new StringColumn(name, codes, dictionary.toArray(new String[0]), nulls);
+      default:
+        return new ValueColumn(name, resultSet.colValues(name), nulls);
+    }
+  }
+
+  static boolean isNull(Value value) {
+    return null == value || value.getSetField() == Value.NVAL;
+  }
+
+  static int merge(int type, int next) {
+    if (type == -1 || type == next) {
+      return next;
+    }
+    if ((type == Value.IVAL || type == Value.FVAL) && (next == Value.IVAL || next == Value.FVAL)) {
+      return Value.FVAL;
+    }
+    // mixed, converted per cell
+    return 0;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.columnar;
+
+import java.util.BitSet;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+
+/** Column of floating point numbers, integers of the column are widened. */
+public class DoubleColumn extends Column {
+
+  private final double[] values;
+
+  DoubleColumn(String name, double[] values, BitSet nulls) {
+    super(name, values.length, nulls);
+    this.values = values;
+  }
+
+  /**
+   * @param row index of the row.
+   * @return the value, 0 if it is null.
+   */
+  public double getDouble(int row) {
+    return values[row];
+  }
+
+  /**
+   * @return the values, 0 for nulls, not copied so must not be modified.
+   */
+  public double[] values() {
+    return values;
+  }
+
+  @Override
+  Value value(int row) {
+    return Values.value(values[row]);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.columnar;
+
+import java.util.BitSet;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+
+/**
+ * Dictionary encoded column of strings, each distinct string is decoded once and the rows hold its
+ * code, so repeated values such as categories cost an int per row.
+ */
+public class StringColumn extends Column {
+
+  private final int[] codes;
+  private final String[] dictionary;
+
+  StringColumn(String name, int[] codes, String[] dictionary, BitSet nulls) {
+    super(name, codes.length, nulls);
+    this.codes = codes;
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * @param row index of the row.
+   * @return the value, null if it is null.
+   */
+  public String getString(int row) {
+    return isNull(row) ? null : dictionary[codes[row]];
+  }
+
+  /**
+   * @param row index of the row.
+   * @return index of the value in the dictionary, -1 if it is null.
+   */
+  public int code(int row) {
+    return isNull(row) ? -1 : codes[row];
+  }
+
+  /**
+   * @return the distinct values in order of first appearance, not copied so must not be modified.
+   */
+  public String[] dictionary() {
+    return dictionary;
+  }
+
+  @Override
+  Value value(int row) {
+    return Values.value(dictionary[codes[row]]);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.columnar;
+
+import com.brinqa.nebula.impl.NebulaToNeo4jConverter;
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import java.util.BitSet;
+import java.util.List;
+import org.neo4j.driver.Value;
+
+/** Column of any other or mixed types, the values are converted when they are read. */
+public class ValueColumn extends Column {
+
+  private final List<ValueWrapper> values;
+
+  ValueColumn(String name, List<ValueWrapper> values, BitSet nulls) {
+    super(name, values.size(), nulls);
+    this.values = values;
+  }
+
+  @Override
+  Value value(int row) {
+    return NebulaToNeo4jConverter.toValue(values.get(row));
+  }
+}
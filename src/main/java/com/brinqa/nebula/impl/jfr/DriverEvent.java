@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events of the driver. Events are created, begun and ended
+ * unconditionally, their fields are only filled in and committed when {@link #shouldCommit()}, so
+ * they cost next to nothing while the events are disabled.
+ */
+@Category({"Nebula", "Driver"})
+@StackTrace(false)
+public abstract class DriverEvent extends Event {
+  @Label("Host")
+  public String host;
+
+  @Label("Space")
+  public String space;
+}
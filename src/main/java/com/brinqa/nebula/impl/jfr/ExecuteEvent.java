@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.brinqa.nebula.Execute")
+@Label("Execute")
+@Description("A statement is sent to a Graph Service and its response received.")
+public class ExecuteEvent extends DriverEvent {
+  @Label("Succeeded")
+  public boolean succeeded;
+
+  @Label("Rows")
+  public long rows;
+
+  @Label("Response Size")
+  @Description("Approximate size of the values received.")
+  @DataAmount
+  public long bytes;
+
+  @Label("Server Latency")
+  @Timespan(Timespan.MICROSECONDS)
+  public long latency;
+}
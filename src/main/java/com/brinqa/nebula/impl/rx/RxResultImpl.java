@@ -15,22 +15,22 @@
  */
 package com.brinqa.nebula.impl.rx;
 
-import com.brinqa.nebula.impl.ResultImpl;
 import io.reactivex.Flowable;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
 import org.neo4j.driver.reactive.RxResult;
 import org.neo4j.driver.summary.ResultSummary;
 import org.reactivestreams.Publisher;
 
 @AllArgsConstructor
 public class RxResultImpl implements RxResult {
-  ResultImpl result;
+  Result result;
 
   @Override
   public Publisher<List<String>> keys() {
-    return Flowable.just(result.keys());
+    return Flowable.fromCallable(result::keys);
   }
 
   @Override
@@ -40,6 +40,6 @@ public class RxResultImpl implements RxResult {
 
   @Override
   public Publisher<ResultSummary> consume() {
-    return Flowable.just(result.consume());
+    return Flowable.fromCallable(result::consume);
   }
 }
@@ -15,7 +15,11 @@
  */
 package com.brinqa.nebula.impl.rx;
 
+import com.brinqa.nebula.impl.Pagination;
 import com.brinqa.nebula.impl.SessionImpl;
+import com.brinqa.nebula.impl.tracing.TraceContext;
+import com.brinqa.nebula.impl.traversal.Traversal;
+import com.brinqa.nebula.impl.traversal.TraversalEdge;
 import io.reactivex.Flowable;
 import java.util.Map;
 import lombok.AllArgsConstructor;
@@ -106,7 +110,14 @@ public class RxSessionImpl implements RxSession {
   @Override
   public <T> Publisher<T> readTransaction(
       RxTransactionWork<? extends Publisher<T>> work, TransactionConfig config) {
-    return Flowable.defer(() -> work.execute(new RxTransactionImpl(this, config)));
+    // the work runs on subscription, as a child of the span current now
+    final var parent = TraceContext.current();
+    return Flowable.defer(
+        () -> {
+          try (var scope = TraceContext.activate(parent)) {
+            return work.execute(new RxTransactionImpl(this, config));
+          }
+        });
   }
 
   @Override
@@ -115,6 +126,27 @@ public class RxSessionImpl implements RxSession {
     return new RxResultImpl(result);
   }
 
+  /**
+   * Run a read query a page at a time, the next page is fetched while the current page is emitted.
+   *
+   * @param query read query to page through.
+   * @param pagination page size and whether to page by offset or by key.
+   * @return reactive result over all the pages.
+   */
+  public RxResult runPaged(Query query, Pagination pagination) {
+    return new RxResultImpl(session.runPaged(query, pagination));
+  }
+
+  /**
+   * Expand a traversal a whole frontier at a time with batched GO queries.
+   *
+   * @param traversal seeds, edge types, direction and depth to expand.
+   * @return the edges followed, as each batch completes.
+   */
+  public Publisher<TraversalEdge> traverse(Traversal traversal) {
+    return session.traverse(traversal);
+  }
+
   @Override
   public <T> Publisher<T> close() {
     return Flowable.defer(
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.scan;
+
+/**
+ * Progress of a scan by partition, e.g. to record the completed partitions so an interrupted export
+ * can be resumed. Partitions are scanned concurrently, so implementations must be thread safe.
+ */
+public interface ScanProgressListener {
+
+  ScanProgressListener NONE = new ScanProgressListener() {};
+
+  /**
+   * Every row of a batch read from a partition was emitted to the subscriber.
+   *
+   * @param partition id of the partition.
+   * @param rows number of rows of the partition emitted so far.
+   */
+  default void onBatch(int partition, long rows) {}
+
+  /**
+   * Every row of a partition was emitted to the subscriber, not signalled if the scan is cancelled.
+   *
+   * @param partition id of the partition.
+   * @param rows number of rows of the partition.
+   */
+  default void onCompleted(int partition, long rows) {}
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.scan;
+
+import java.util.List;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class ScanRequest {
+
+  public enum Kind {
+    VERTEX,
+    EDGE
+  }
+
+  /** Whether to scan the vertices of a tag or the edges of an edge type. */
+  @NonNull @Default Kind kind = Kind.VERTEX;
+  /** Name of the tag or edge type to scan. */
+  @NonNull String name;
+  /** Properties to return, all properties if empty. */
+  @Singular List<String> properties;
+  /** Max number of rows read from a partition at a time. */
+  @Default int batchSize = 1000;
+  /** Partitions completed by a previous scan, skipped to resume an export. */
+  @Singular Set<Integer> completedPartitions;
+  /** Notified of the progress of each partition. */
+  @NonNull @Default ScanProgressListener listener = ScanProgressListener.NONE;
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.scan;
+
+import com.brinqa.nebula.impl.NebulaToNeo4jConverter;
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import com.vesoft.nebula.client.storage.StorageClient;
+import com.vesoft.nebula.client.storage.data.BaseTableRow;
+import com.vesoft.nebula.client.storage.scan.ScanEdgeResultIterator;
+import com.vesoft.nebula.client.storage.scan.ScanVertexResultIterator;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.util.QueryKeys;
+
+/**
+ * Reads every row of a tag or edge type straight from the storage service, bypassing graphd.
+ * Partitions are read concurrently, up to the parallelism, and the rows are streamed as records of
+ * the returned properties, e.g. {@code _vid} and the tag properties for vertices, {@code _src},
+ * {@code _dst}, {@code _rank} and the edge properties for edges.
+ */
+@Slf4j
+public class StorageScanner {
+
+  /** Reads the rows of a single partition a batch at a time. */
+  public interface PartitionReader {
+    boolean hasNext();
+
+    List<Record> next() throws Exception;
+  }
+
+  private final Scheduler scheduler;
+  private final int parallelism;
+
+  public StorageScanner(Executor executor, int parallelism) {
+    this.scheduler = Schedulers.from(executor);
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  /**
+   * Scan a tag or edge type with the storage client.
+   *
+   * @param client connected storage client.
+   * @param spaceName space to scan.
+   * @param partitions ids of the partitions of the space.
+   * @param request what to scan.
+   * @return cold stream of the rows, the partitions are interleaved.
+   */
+  public Flowable<Record> scan(
+      StorageClient client, String spaceName, List<Integer> partitions, ScanRequest request) {
+    return scan(partitions, request, part -> open(client, spaceName, part, request));
+  }
+
+  /**
+   * Scan the partitions not already completed concurrently.
+   *
+   * @param partitions ids of the partitions.
+   * @param request what to scan.
+   * @param open creates the reader of a partition.
+   * @return cold stream of the rows, the partitions are interleaved.
+   */
+  public Flowable<Record> scan(
+      List<Integer> partitions, ScanRequest request, IntFunction<PartitionReader> open) {
+    final var pending =
+        partitions.stream()
+            .filter(part -> !request.getCompletedPartitions().contains(part))
+            .collect(Collectors.toList());
+    return Flowable.fromIterable(pending)
+        .flatMap(
+            part -> scanPartition(part, request.getListener(), open).subscribeOn(scheduler),
+            parallelism);
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  /**
+   * Progress is signalled as rows reach the subscriber, not as batches are read ahead, so a
+   * partition is only reported completed once every row of it was emitted.
+   */
+  Flowable<Record> scanPartition(
+      int part, ScanProgressListener listener, IntFunction<PartitionReader> open) {
+    // rows read at the end of each batch, and rows emitted
+    final var batchEnds = new ConcurrentLinkedQueue<Long>();
+    final long[] read = {0L};
+    final long[] emitted = {0L};
+    return Flowable.<List<Record>, PartitionReader>generate(
+            () -> open.apply(part),
+            (reader, emitter) -> {
+              if (!reader.hasNext()) {
+                emitter.onComplete();
+                return;
+              }
+              final var batch = reader.next();
+              read[0] += batch.size();
+              batchEnds.add(read[0]);
+              emitter.onNext(batch);
+            })
+        .concatMapIterable(batch -> batch)
+        .doOnNext(
+            record -> {
+              emitted[0]++;
+              // empty batches end with the batch before them
+              boolean ended = false;
+              for (var end = batchEnds.peek(); null != end && end <= emitted[0]; ) {
+                batchEnds.poll();
+                end = batchEnds.peek();
+                ended = true;
+              }
+              if (ended) {
+                listener.onBatch(part, emitted[0]);
+              }
+            })
+        .doOnComplete(() -> listener.onCompleted(part, emitted[0]));
+  }
+
+  static PartitionReader open(
+      StorageClient client, String spaceName, int part, ScanRequest request) {
+    final var name = request.getName();
+    final var properties = request.getProperties();
+    final var batchSize = request.getBatchSize();
+    if (ScanRequest.Kind.VERTEX == request.getKind()) {
+      final ScanVertexResultIterator iterator =
+          client.scanVertex(spaceName, part, name, properties, batchSize);
+      return new PartitionReader() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public List<Record> next() throws Exception {
+          final var result = iterator.next();
+          return toRecords(result.getPropNames(), result.getVertexTableRows());
+        }
+      };
+    }
+    final ScanEdgeResultIterator iterator =
+        client.scanEdge(spaceName, part, name, properties, batchSize);
+    return new PartitionReader() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public List<Record> next() throws Exception {
+        final var result = iterator.next();
+        return toRecords(result.getPropNames(), result.getEdgeTableRows());
+      }
+    };
+  }
+
+  static List<Record> toRecords(List<String> keys, List<? extends BaseTableRow> rows) {
+    // one key index shared by all records of the batch
+    final var queryKeys = new QueryKeys(keys);
+    final var ret = new ArrayList<Record>(rows.size());
+    for (BaseTableRow row : rows) {
+      ret.add(toRecord(queryKeys, row.getValues()));
+    }
+    return ret;
+  }
+
+  static Record toRecord(QueryKeys keys, List<ValueWrapper> row) {
+    final var values = new Value[row.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = NebulaToNeo4jConverter.toValue(row.get(i));
+    }
+    return new InternalRecord(keys, values);
+  }
+}
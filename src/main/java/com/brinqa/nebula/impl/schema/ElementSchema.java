@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.schema;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Properties of a tag or edge type, in the order they are declared. */
+public class ElementSchema {
+
+  private final String name;
+  private final List<PropertyDefinition> properties;
+  private final Map<String, Integer> index = new HashMap<>();
+
+  public ElementSchema(String name, List<PropertyDefinition> properties) {
+    this.name = name;
+    this.properties = List.copyOf(properties);
+    for (int i = 0; i < properties.size(); i++) {
+      index.put(properties.get(i).getName(), i);
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public List<PropertyDefinition> getProperties() {
+    return properties;
+  }
+
+  /**
+   * @param property name of the property.
+   * @return the definition, or null if the property is not declared.
+   */
+  public PropertyDefinition get(String property) {
+    final var i = index.get(property);
+    return null == i ? null : properties.get(i);
+  }
+
+  /**
+   * Order property values as declared, so rows with the same properties always have the same
+   * layout. Undeclared properties follow in their original order.
+   *
+   * @param values property values by name.
+   * @return the values in declared order.
+   */
+  public Map<String, Object> order(Map<String, Object> values) {
+    final var ret = new LinkedHashMap<String, Object>();
+    for (PropertyDefinition property : properties) {
+      if (values.containsKey(property.getName())) {
+        ret.put(property.getName(), values.get(property.getName()));
+      }
+    }
+    if (ret.size() < values.size()) {
+      values.forEach(ret::putIfAbsent);
+    }
+    return ret;
+  }
+
+  /**
+   * @param property name of the property.
+   * @param value value of the property.
+   * @return literal of the declared type of the property, or of the value for undeclared ones.
+   */
+  public String literal(String property, Object value) {
+    final var definition = get(property);
+    final var type = null == definition ? PropertyType.OTHER : definition.getType();
+    return type.literal(value);
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.schema;
+
+import com.brinqa.nebula.impl.QueryConverter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.Locale;
+
+/**
+ * Nebula property types, renders values as literals of the declared type so the server does not
+ * need to cast them, e.g. a string read from a CSV file written to an integer property.
+ */
+public enum PropertyType {
+  INT,
+  DOUBLE,
+  BOOL,
+  STRING,
+  DATE,
+  TIME,
+  DATETIME,
+  TIMESTAMP,
+  OTHER;
+
+  /**
+   * @param type type as shown by {@code DESCRIBE TAG}, e.g. {@code int64} or {@code
+   *     fixed_string(32)}.
+   * @return the property type.
+   */
+  public static PropertyType of(String type) {
+    final var t = type.toLowerCase(Locale.ROOT);
+    if (t.startsWith("int")) {
+      return INT;
+    }
+    if (t.equals("double") || t.equals("float")) {
+      return DOUBLE;
+    }
+    if (t.equals("bool")) {
+      return BOOL;
+    }
+    if (t.equals("string") || t.startsWith("fixed_string")) {
+      return STRING;
+    }
+    if (t.equals("date")) {
+      return DATE;
+    }
+    if (t.equals("time")) {
+      return TIME;
+    }
+    if (t.equals("datetime")) {
+      return DATETIME;
+    }
+    if (t.equals("timestamp")) {
+      return TIMESTAMP;
+    }
+    return OTHER;
+  }
+
+  /**
+   * Render a value as an nGQL literal of this type.
+   *
+   * @param value property value, strings are parsed as this type.
+   * @return literal text.
+   */
+  public String literal(Object value) {
+    if (null == value) {
+      return "NULL";
+    }
+    switch (this) {
+      case INT:
+        return value instanceof Number
+            ? Long.toString(((Number) value).longValue())
+            : Long.toString(Long.parseLong(value.toString().strip()));
+      case DOUBLE:
+        return value instanceof Number
+            ? Double.toString(((Number) value).doubleValue())
+            : Double.toString(Double.parseDouble(value.toString().strip()));
+      case BOOL:
+        return value instanceof Boolean
+            ? value.toString()
+            : Boolean.toString(Boolean.parseBoolean(value.toString().strip()));
+      case STRING:
+        return QueryConverter.convertToString(value.toString());
+      case DATE:
+        return temporal("date", value instanceof Temporal ? toDate((Temporal) value) : value);
+      case TIME:
+        return temporal("time", value instanceof Temporal ? toTime((Temporal) value) : value);
+      case DATETIME:
+        return value instanceof Temporal
+            ? QueryConverter.convertToString(value)
+            : temporal("datetime", value);
+      case TIMESTAMP:
+        if (value instanceof Number) {
+          return Long.toString(((Number) value).longValue());
+        }
+        if (value instanceof Instant) {
+          return Long.toString(((Instant) value).getEpochSecond());
+        }
+        return temporal("timestamp", value);
+      default:
+        return QueryConverter.convertToString(value);
+    }
+  }
+
+  static String temporal(String function, Object value) {
+    return function + "(" + QueryConverter.convertToString(value.toString()) + ")";
+  }
+
+  static Object toDate(Temporal value) {
+    if (value instanceof LocalDateTime) {
+      return ((LocalDateTime) value).toLocalDate();
+    }
+    if (value instanceof ZonedDateTime) {
+      return ((ZonedDateTime) value).toLocalDate();
+    }
+    if (value instanceof OffsetDateTime) {
+      return ((OffsetDateTime) value).toLocalDate();
+    }
+    return value;
+  }
+
+  static Object toTime(Temporal value) {
+    if (value instanceof LocalDateTime) {
+      return ((LocalDateTime) value).toLocalTime();
+    }
+    if (value instanceof ZonedDateTime) {
+      return ((ZonedDateTime) value).toLocalTime();
+    }
+    if (value instanceof OffsetDateTime) {
+      return ((OffsetDateTime) value).toLocalTime();
+    }
+    if (value instanceof OffsetTime) {
+      return ((OffsetTime) value).toLocalTime();
+    }
+    return value;
+  }
+}
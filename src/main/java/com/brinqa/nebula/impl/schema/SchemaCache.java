@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.schema;
+
+import com.brinqa.nebula.DriverConfig;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+
+/**
+ * Driver wide cache of the schema of each space, loaded with {@code DESCRIBE SPACE}, {@code SHOW
+ * TAGS}, {@code SHOW EDGES}, {@code DESCRIBE TAG} and {@code DESCRIBE EDGE}. Entries expire a fixed
+ * time after they were loaded and schema changes through the driver invalidate their space.
+ */
+@Slf4j
+public class SchemaCache {
+
+  private final Cache<String, SpaceSchema> cache;
+
+  public SchemaCache(DriverConfig driverConfig) {
+    final long ttl = driverConfig.getSchemaCacheTtl();
+    this.cache =
+        ttl <= 0
+            ? null
+            : CacheBuilder.newBuilder().expireAfterWrite(ttl, TimeUnit.MILLISECONDS).build();
+  }
+
+  /**
+   * @return true if the driver is configured to cache schemas.
+   */
+  public boolean isEnabled() {
+    return null != cache;
+  }
+
+  /**
+   * Return the cached schema of a space or load it.
+   *
+   * @param spaceName name of the space.
+   * @param run executes the statements describing the space.
+   * @return the schema, or {@link SpaceSchema#EMPTY} if it is disabled or failed to load.
+   */
+  public SpaceSchema get(String spaceName, Function<Query, Result> run) {
+    if (!isEnabled()) {
+      return SpaceSchema.EMPTY;
+    }
+    try {
+      return cache.get(spaceName, () -> load(spaceName, run));
+    } catch (ExecutionException | RuntimeException e) {
+      log.warn("Failed to load the schema of space {}.", spaceName, e);
+      return SpaceSchema.EMPTY;
+    }
+  }
+
+  /**
+   * Drop the schema of a space, e.g. after a tag was altered.
+   *
+   * @param spaceName name of the space.
+   */
+  public void invalidate(String spaceName) {
+    if (isEnabled()) {
+      cache.invalidate(spaceName);
+    }
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static SpaceSchema load(String spaceName, Function<Query, Result> run) {
+    final var space = run.apply(new Query("DESCRIBE SPACE `" + spaceName + "`")).single();
+    final var vidType = PropertyType.of(space.get("Vid Type").asString());
+    final var tags = new HashMap<String, ElementSchema>();
+    for (String name : names(run, "SHOW TAGS")) {
+      tags.put(name, describe(run, "DESCRIBE TAG ", name));
+    }
+    final var edges = new HashMap<String, ElementSchema>();
+    for (String name : names(run, "SHOW EDGES")) {
+      edges.put(name, describe(run, "DESCRIBE EDGE ", name));
+    }
+    return new SpaceSchema(vidType, tags, edges);
+  }
+
+  static Iterable<String> names(Function<Query, Result> run, String statement) {
+    return run.apply(new Query(statement)).list(record -> record.get("Name").asString());
+  }
+
+  static ElementSchema describe(Function<Query, Result> run, String statement, String name) {
+    final var properties = new ArrayList<PropertyDefinition>();
+    final var result = run.apply(new Query(statement + "`" + name + "`"));
+    result.forEachRemaining(
+        record ->
+            properties.add(
+                new PropertyDefinition(
+                    record.get("Field").asString(),
+                    PropertyType.of(record.get("Type").asString()),
+                    "YES".equalsIgnoreCase(record.get("Null").asString()))));
+    return new ElementSchema(name, properties);
+  }
+}
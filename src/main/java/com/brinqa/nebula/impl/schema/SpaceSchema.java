@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.schema;
+
+import java.util.Map;
+
+/** Snapshot of the tags and edge types of a space. */
+public class SpaceSchema {
+
+  /** Nothing is known about the space, values are rendered by their Java type. */
+  public static final SpaceSchema EMPTY = new SpaceSchema(PropertyType.OTHER, Map.of(), Map.of());
+
+  private final PropertyType vidType;
+  private final Map<String, ElementSchema> tags;
+  private final Map<String, ElementSchema> edges;
+
+  public SpaceSchema(
+      PropertyType vidType, Map<String, ElementSchema> tags, Map<String, ElementSchema> edges) {
+    this.vidType = vidType;
+    this.tags = Map.copyOf(tags);
+    this.edges = Map.copyOf(edges);
+  }
+
+  /**
+   * @param name name of the tag.
+   * @return the schema, or null if there is no such tag.
+   */
+  public ElementSchema tag(String name) {
+    return tags.get(name);
+  }
+
+  /**
+   * @param name name of the edge type.
+   * @return the schema, or null if there is no such edge type.
+   */
+  public ElementSchema edge(String name) {
+    return edges.get(name);
+  }
+
+  /**
+   * Render a vertex ID as a literal of the VID type of the space.
+   *
+   * @param vid vertex ID, strings are parsed for spaces with integer VIDs.
+   * @return literal text.
+   */
+  public String vid(Object vid) {
+    return vidType.literal(vid);
+  }
+
+  public PropertyType getVidType() {
+    return vidType;
+  }
+}
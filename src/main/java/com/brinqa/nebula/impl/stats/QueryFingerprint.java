@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+/**
+ * Normalizes the text of a query so queries differing only by literal values share a fingerprint,
+ * e.g. {@code FETCH PROP ON Host 1, 2, 3} and {@code FETCH PROP ON Host 4} both become {@code FETCH
+ * PROP ON Host ?, ...}. String and number literals become {@code ?}, lists of them collapse to
+ * {@code ?, ...} and runs of whitespace to a single space. Parameters are left as they are, their
+ * values are never part of the text.
+ */
+public final class QueryFingerprint {
+
+  private static final String LIST = "?, ...";
+
+  private QueryFingerprint() {}
+
+  /**
+   * @param text text of a query.
+   * @return the fingerprint of the query.
+   */
+  public static String of(String text) {
+    final var ret = new StringBuilder(text.length());
+    final int n = text.length();
+    int i = 0;
+    while (i < n) {
+      final char c = text.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipString(text, i, c);
+        literal(ret);
+      } else if (c == '`') {
+        // quoted identifier, kept as is
+        final int end = text.indexOf('`', i + 1);
+        final int next = end < 0 ? n : end + 1;
+        ret.append(text, i, next);
+        i = next;
+      } else if (Character.isDigit(c) && !isIdentifierPart(ret)) {
+        while (i < n && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '.')) {
+          i++;
+        }
+        literal(ret);
+      } else if (Character.isWhitespace(c)) {
+        while (i < n && Character.isWhitespace(text.charAt(i))) {
+          i++;
+        }
+        if (ret.length() > 0 && i < n) {
+          ret.append(' ');
+        }
+      } else {
+        ret.append(c);
+        i++;
+      }
+    }
+    return ret.toString();
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static int skipString(String text, int start, char quote) {
+    int i = start + 1;
+    while (i < text.length()) {
+      final char c = text.charAt(i);
+      if (c == '\\') {
+        i += 2;
+      } else if (c == quote) {
+        return i + 1;
+      } else {
+        i++;
+      }
+    }
+    return i;
+  }
+
+  /** Append a placeholder, collapsing a list of literals into its first one. */
+  static void literal(StringBuilder ret) {
+    int end = ret.length();
+    while (end > 0 && ret.charAt(end - 1) == ' ') {
+      end--;
+    }
+    if (end > 0 && ret.charAt(end - 1) == ',') {
+      // end of the token before the comma
+      int prev = end - 1;
+      while (prev > 0 && ret.charAt(prev - 1) == ' ') {
+        prev--;
+      }
+      if (prev >= LIST.length() && LIST.equals(ret.substring(prev - LIST.length(), prev))) {
+        ret.setLength(prev);
+        return;
+      }
+      if (prev > 0 && ret.charAt(prev - 1) == '?') {
+        ret.setLength(prev);
+        ret.append(", ...");
+        return;
+      }
+    }
+    ret.append('?');
+  }
+
+  static boolean isIdentifierPart(StringBuilder ret) {
+    if (ret.length() == 0) {
+      return false;
+    }
+    final char last = ret.charAt(ret.length() - 1);
+    return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+
+/** Snapshot of the statistics of the queries sharing a fingerprint. */
+@Value
+public class QueryStats {
+  String fingerprint;
+  long calls;
+  long errors;
+  long totalNanos;
+  long minNanos;
+  long maxNanos;
+  // estimated from a histogram with buckets at most 25% wide
+  long p99Nanos;
+  long rows;
+  long bytes;
+
+  /**
+   * @param unit unit of the result.
+   * @return the total time spent in the queries.
+   */
+  public long totalTime(TimeUnit unit) {
+    return unit.convert(totalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @return mean latency of the queries in nanoseconds, 0 if there were none.
+   */
+  public long meanNanos() {
+    return calls == 0 ? 0 : totalNanos / calls;
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Driver wide statistics of the queries executed, accumulated per {@link QueryFingerprint} in a
+ * bounded table. When the table is full the least called 5% of the fingerprints are evicted to make
+ * room, so the queries that matter most stay.
+ */
+public class QueryStatsRegistry {
+
+  private final int maxEntries;
+  private final Map<String, Accumulator> entries = new ConcurrentHashMap<>();
+  private final Object evictionLock = new Object();
+
+  /**
+   * @param maxEntries max number of fingerprints tracked, 0 disables the registry.
+   */
+  public QueryStatsRegistry(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * @return true if statistics are collected.
+   */
+  public boolean isEnabled() {
+    return maxEntries > 0;
+  }
+
+  /**
+   * Record a query that succeeded.
+   *
+   * @param text text of the query.
+   * @param nanos time spent executing it.
+   * @param rows number of rows returned.
+   * @param bytes approximate number of bytes received for it, 0 if not known.
+   */
+  public void record(String text, long nanos, long rows, long bytes) {
+    if (isEnabled()) {
+      accumulator(text).record(nanos, rows, bytes, false);
+    }
+  }
+
+  /**
+   * Record a query that failed.
+   *
+   * @param text text of the query.
+   * @param nanos time spent executing it.
+   */
+  public void recordError(String text, long nanos) {
+    if (isEnabled()) {
+      accumulator(text).record(nanos, 0, 0, true);
+    }
+  }
+
+  /**
+   * @return statistics of all the fingerprints tracked, highest total time first.
+   */
+  public List<QueryStats> snapshot() {
+    final var ret = new ArrayList<QueryStats>(entries.size());
+    entries.forEach((fingerprint, accumulator) -> ret.add(accumulator.snapshot(fingerprint)));
+    ret.sort(Comparator.comparingLong(QueryStats::getTotalNanos).reversed());
+    return ret;
+  }
+
+  /**
+   * @param n max number of fingerprints.
+   * @return statistics of the fingerprints with the highest total time, highest first.
+   */
+  public List<QueryStats> top(int n) {
+    final var all = snapshot();
+    return all.subList(0, Math.min(n, all.size()));
+  }
+
+  /** Forget all statistics. */
+  public void reset() {
+    entries.clear();
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  Accumulator accumulator(String text) {
+    final var fingerprint = QueryFingerprint.of(text);
+    final var existing = entries.get(fingerprint);
+    if (null != existing) {
+      return existing;
+    }
+    if (entries.size() >= maxEntries) {
+      evict();
+    }
+    return entries.computeIfAbsent(fingerprint, key -> new Accumulator());
+  }
+
+  void evict() {
+    synchronized (evictionLock) {
+      // another thread may have made room already
+      if (entries.size() < maxEntries) {
+        return;
+      }
+      final var calls = new ArrayList<Map.Entry<String, Long>>(entries.size());
+      entries.forEach((key, accumulator) -> calls.add(Map.entry(key, accumulator.calls())));
+      calls.sort(Map.Entry.comparingByValue());
+      final int count = Math.max(1, calls.size() / 20);
+      for (int i = 0; i < count; i++) {
+        entries.remove(calls.get(i).getKey());
+      }
+    }
+  }
+
+  /** Statistics of one fingerprint, updates are short so they simply lock it. */
+  static class Accumulator {
+    // 4 buckets per power of two above 16ns, linear below
+    static final int LINEAR = 16;
+    static final int BUCKETS = LINEAR + (63 - 4) * 4;
+
+    private final long[] histogram = new long[BUCKETS];
+    private long calls;
+    private long errors;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+    private long rows;
+    private long bytes;
+
+    synchronized void record(long nanos, long rows, long bytes, boolean error) {
+      final long n = Math.max(0L, nanos);
+      calls++;
+      if (error) {
+        errors++;
+      }
+      totalNanos += n;
+      minNanos = Math.min(minNanos, n);
+      maxNanos = Math.max(maxNanos, n);
+      this.rows += rows;
+      this.bytes += bytes;
+      histogram[bucket(n)]++;
+    }
+
+    synchronized long calls() {
+      return calls;
+    }
+
+    synchronized QueryStats snapshot(String fingerprint) {
+      return new QueryStats(
+          fingerprint,
+          calls,
+          errors,
+          totalNanos,
+          calls == 0 ? 0 : minNanos,
+          maxNanos,
+          percentile(0.99),
+          rows,
+          bytes);
+    }
+
+    long percentile(double fraction) {
+      final long rank = (long) Math.ceil(calls * fraction);
+      long seen = 0;
+      for (int i = 0; i < histogram.length; i++) {
+        seen += histogram[i];
+        if (seen >= rank && seen > 0) {
+          return Math.min(upperBound(i), maxNanos);
+        }
+      }
+      return maxNanos;
+    }
+
+    static int bucket(long nanos) {
+      if (nanos < LINEAR) {
+        return (int) nanos;
+      }
+      final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+      final int sub = (int) (nanos >>> (exponent - 2)) & 3;
+      return LINEAR + (exponent - 4) * 4 + sub;
+    }
+
+    static long upperBound(int bucket) {
+      if (bucket < LINEAR) {
+        return bucket;
+      }
+      final int exponent = (bucket - LINEAR) / 4 + 4;
+      final int sub = (bucket - LINEAR) % 4;
+      return ((5L + sub) << (exponent - 2)) - 1;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/** A query logged as slow, with the time spent in each phase of its execution and any error. */
+@Value
+@Builder
+public class SlowQueryEntry {
+  /** Space the query ran in. */
+  String space;
+  /** Graph Service the query ran on. */
+  String host;
+  /** Fingerprint of the query, see {@link QueryFingerprint}. */
+  String fingerprint;
+  /** Type of each parameter, or its value if enabled in the driver configuration. */
+  @Singular Map<String, String> parameters;
+  /** Time from the call to the result, in nanoseconds. */
+  long totalNanos;
+  /** Latency the Graph Service reported, in nanoseconds. */
+  long serverNanos;
+  /** Number of rows received. */
+  long rows;
+  /** Time spent in each phase in order, in nanoseconds. */
+  @Singular Map<String, Long> phases;
+  /** Error the query failed with, null if it succeeded. */
+  String error;
+
+  @Override
+  public String toString() {
+    final var ret = new StringBuilder("Slow query ").append(millis(totalNanos));
+    ret.append(" space=").append(space).append(" host=").append(host);
+    ret.append(" server=").append(millis(serverNanos)).append(" rows=").append(rows);
+    phases.forEach(
+        (phase, nanos) -> ret.append(' ').append(phase).append('=').append(millis(nanos)));
+    if (!parameters.isEmpty()) {
+      ret.append(" parameters=").append(parameters);
+    }
+    if (null != error) {
+      ret.append(" error=").append(error);
+    }
+    return ret.append(": ").append(fingerprint).toString();
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+import com.brinqa.nebula.DriverConfig;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.value.ListValue;
+import org.neo4j.driver.internal.value.MapValue;
+
+/**
+ * Logs the queries slower than a threshold, either end to end on the client or as reported by the
+ * Graph Service, optionally sampled. Failed queries are logged too, with their error. Entries are
+ * formatted and written on a single background thread through a bounded queue, when the queue is
+ * full entries are dropped rather than blocking the query.
+ */
+@Slf4j
+public class SlowQueryLog implements AutoCloseable {
+
+  static final int QUEUE_CAPACITY = 1024;
+
+  private final long thresholdNanos;
+  private final long serverThresholdNanos;
+  private final double sampleRate;
+  private final boolean parameterValues;
+  private final Consumer<SlowQueryEntry> writer;
+  private final ThreadPoolExecutor executor;
+  private final LongAdder dropped = new LongAdder();
+
+  public SlowQueryLog(DriverConfig driverConfig) {
+    this(driverConfig, entry -> log.warn("{}", entry));
+  }
+
+  /**
+   * @param driverConfig thresholds, sample rate and whether parameter values are logged.
+   * @param writer writes the entries, called on the background thread.
+   */
+  public SlowQueryLog(DriverConfig driverConfig, Consumer<SlowQueryEntry> writer) {
+    this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(driverConfig.getSlowQueryThreshold());
+    this.serverThresholdNanos =
+        TimeUnit.MILLISECONDS.toNanos(driverConfig.getSlowQueryServerThreshold());
+    this.sampleRate = driverConfig.getSlowQuerySampleRate();
+    this.parameterValues = driverConfig.isSlowQueryParameterValues();
+    this.writer = writer;
+    this.executor =
+        isEnabled()
+            ? new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("nebula-slow-query-log")
+                    .build(),
+                (task, pool) -> dropped.increment())
+            : null;
+  }
+
+  /**
+   * @return true if either threshold is set and the sample rate is above 0.
+   */
+  public boolean isEnabled() {
+    return (thresholdNanos > 0 || serverThresholdNanos > 0) && sampleRate > 0;
+  }
+
+  /**
+   * Cheap check of whether a query is logged, so the caller only gathers the details of the queries
+   * that are.
+   *
+   * @param totalNanos time from the call to the result.
+   * @param serverNanos latency the Graph Service reported.
+   * @return true if the query is slow and sampled.
+   */
+  public boolean shouldLog(long totalNanos, long serverNanos) {
+    if (!isEnabled()) {
+      return false;
+    }
+    final boolean slow =
+        (thresholdNanos > 0 && totalNanos >= thresholdNanos)
+            || (serverThresholdNanos > 0 && serverNanos >= serverThresholdNanos);
+    return slow && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+  }
+
+  /**
+   * Queue a slow query to be logged, the fingerprint and parameters are derived in the background.
+   *
+   * @param entry the entry without its fingerprint and parameters.
+   * @param query the query.
+   */
+  public void log(SlowQueryEntry.SlowQueryEntryBuilder entry, Query query) {
+    executor.execute(
+        () -> {
+          entry.fingerprint(QueryFingerprint.of(query.text()));
+          query.parameters().asMap(value -> value).forEach((k, v) -> entry.parameter(k, shape(v)));
+          try {
+            writer.accept(entry.build());
+          } catch (RuntimeException e) {
+            log.debug("Failed to write a slow query entry.", e);
+          }
+        });
+  }
+
+  /**
+   * @return number of entries dropped because the queue was full.
+   */
+  public long dropped() {
+    return dropped.sum();
+  }
+
+  /** Stop the background thread once the entries queued are written. */
+  @Override
+  public void close() {
+    if (null != executor) {
+      executor.shutdown();
+    }
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  String shape(Value value) {
+    if (parameterValues) {
+      return value.toString();
+    }
+    final var type = value.type().name();
+    // the size of a list hints at the cost, e.g. of an IN predicate
+    return value instanceof ListValue || value instanceof MapValue
+        ? type + "(" + value.size() + ")"
+        : type;
+  }
+}
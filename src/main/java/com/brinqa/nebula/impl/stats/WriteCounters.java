@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.neo4j.driver.summary.SummaryCounters;
+
+/**
+ * Driver wide totals of the summary counters of the write statements executed, sampled periodically
+ * they give the entities written per second without any count query.
+ */
+public class WriteCounters {
+  private final LongAdder statements = new LongAdder();
+  private final LongAdder nodesCreated = new LongAdder();
+  private final LongAdder nodesDeleted = new LongAdder();
+  private final LongAdder relationshipsCreated = new LongAdder();
+  private final LongAdder relationshipsDeleted = new LongAdder();
+  private final LongAdder propertiesSet = new LongAdder();
+  private final LongAdder labelsAdded = new LongAdder();
+  private final LongAdder labelsRemoved = new LongAdder();
+
+  /**
+   * Add the counters of a write statement that succeeded.
+   *
+   * @param counters counters of the statement.
+   */
+  public void record(SummaryCounters counters) {
+    statements.increment();
+    if (!counters.containsUpdates()) {
+      return;
+    }
+    nodesCreated.add(counters.nodesCreated());
+    nodesDeleted.add(counters.nodesDeleted());
+    relationshipsCreated.add(counters.relationshipsCreated());
+    relationshipsDeleted.add(counters.relationshipsDeleted());
+    propertiesSet.add(counters.propertiesSet());
+    labelsAdded.add(counters.labelsAdded());
+    labelsRemoved.add(counters.labelsRemoved());
+  }
+
+  /**
+   * @return number of write queries and buffered scripts that succeeded.
+   */
+  public long statements() {
+    return statements.sum();
+  }
+
+  public long nodesCreated() {
+    return nodesCreated.sum();
+  }
+
+  public long nodesDeleted() {
+    return nodesDeleted.sum();
+  }
+
+  public long relationshipsCreated() {
+    return relationshipsCreated.sum();
+  }
+
+  public long relationshipsDeleted() {
+    return relationshipsDeleted.sum();
+  }
+
+  public long propertiesSet() {
+    return propertiesSet.sum();
+  }
+
+  public long labelsAdded() {
+    return labelsAdded.sum();
+  }
+
+  public long labelsRemoved() {
+    return labelsRemoved.sum();
+  }
+
+  /**
+   * @return number of vertices and edges inserted.
+   */
+  public long entitiesWritten() {
+    return nodesCreated() + relationshipsCreated();
+  }
+
+  /** Reset all the totals to 0. */
+  public void reset() {
+    statements.reset();
+    nodesCreated.reset();
+    nodesDeleted.reset();
+    relationshipsCreated.reset();
+    relationshipsDeleted.reset();
+    propertiesSet.reset();
+    labelsAdded.reset();
+    labelsRemoved.reset();
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Appends the spans exported to a file, a JSON object per line. */
+public class FileSpanExporter implements SpanExporter, Closeable {
+
+  private final BufferedWriter writer;
+
+  public FileSpanExporter(Path file) throws IOException {
+    this.writer =
+        Files.newBufferedWriter(file, UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  @Override
+  public synchronized void export(SpanData span) {
+    try {
+      writer.write(toJson(span));
+      writer.newLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Write out the spans buffered. */
+  public synchronized void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    writer.close();
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static String toJson(SpanData span) {
+    final var ret = new StringBuilder(256);
+    ret.append("{\"traceId\":\"").append(Long.toHexString(span.getTraceId()));
+    ret.append("\",\"spanId\":\"").append(Long.toHexString(span.getSpanId()));
+    ret.append("\",\"parentId\":\"").append(Long.toHexString(span.getParentId()));
+    ret.append("\",\"name\":");
+    string(ret, span.getName());
+    ret.append(",\"start\":").append(span.getStartMicros());
+    ret.append(",\"duration\":").append(span.getDurationNanos());
+    ret.append(",\"tags\":{");
+    String separator = "";
+    for (var tag : span.getTags().entrySet()) {
+      ret.append(separator);
+      string(ret, tag.getKey());
+      ret.append(':');
+      if (tag.getValue() instanceof Long) {
+        ret.append(tag.getValue());
+      } else {
+        string(ret, String.valueOf(tag.getValue()));
+      }
+      separator = ",";
+    }
+    ret.append('}');
+    if (null != span.getError()) {
+      ret.append(",\"error\":");
+      string(ret, span.getError());
+    }
+    return ret.append('}').toString();
+  }
+
+  static void string(StringBuilder ret, String value) {
+    ret.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        ret.append('\\').append(c);
+      } else if (c < 0x20) {
+        ret.append(String.format("\\u%04x", (int) c));
+      } else {
+        ret.append(c);
+      }
+    }
+    ret.append('"');
+  }
+}
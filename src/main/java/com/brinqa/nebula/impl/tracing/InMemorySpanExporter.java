@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Keeps the spans exported in memory in the order they ended, for tests. */
+public class InMemorySpanExporter implements SpanExporter {
+
+  private final List<SpanData> spans = new ArrayList<>();
+
+  @Override
+  public synchronized void export(SpanData span) {
+    spans.add(span);
+  }
+
+  /**
+   * @return copy of the spans exported so far.
+   */
+  public synchronized List<SpanData> spans() {
+    return List.copyOf(spans);
+  }
+
+  /** Forget the spans exported so far. */
+  public synchronized void reset() {
+    spans.clear();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracer recording every span and handing it to an exporter when it ends, e.g. an {@link
+ * InMemorySpanExporter} in tests or a {@link FileSpanExporter}.
+ */
+public class SimpleTracer implements Tracer {
+
+  private final SpanExporter exporter;
+  private final AtomicLong ids = new AtomicLong();
+
+  public SimpleTracer(SpanExporter exporter) {
+    this.exporter = exporter;
+  }
+
+  @Override
+  public Span start(String name, Span parent) {
+    if (parent instanceof RecordedSpan) {
+      return parent.child(name);
+    }
+    return new RecordedSpan(name, ThreadLocalRandom.current().nextLong(), 0L);
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  class RecordedSpan implements Span {
+    private final String name;
+    private final long traceId;
+    private final long spanId;
+    private final long parentId;
+    private final long startMicros;
+    private final long startNanos;
+    // allocated by the first tag
+    private Map<String, Object> tags;
+    private String error;
+
+    RecordedSpan(String name, long traceId, long parentId) {
+      this.name = name;
+      this.traceId = traceId;
+      this.spanId = ids.incrementAndGet();
+      this.parentId = parentId;
+      this.startMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+      this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public Span child(String name) {
+      return new RecordedSpan(name, traceId, spanId);
+    }
+
+    @Override
+    public synchronized Span tag(String key, String value) {
+      return put(key, value);
+    }
+
+    @Override
+    public synchronized Span tag(String key, long value) {
+      return put(key, value);
+    }
+
+    @Override
+    public synchronized void error(Throwable t) {
+      this.error = String.valueOf(t.getMessage());
+    }
+
+    @Override
+    public void end() {
+      final long duration = System.nanoTime() - startNanos;
+      final SpanData data;
+      synchronized (this) {
+        final Map<String, Object> copy =
+            null == tags ? Map.of() : Collections.unmodifiableMap(tags);
+        data = new SpanData(traceId, spanId, parentId, name, startMicros, duration, copy, error);
+      }
+      exporter.export(data);
+    }
+
+    @Override
+    public boolean isRecording() {
+      return true;
+    }
+
+    Span put(String key, Object value) {
+      if (null == tags) {
+        tags = new LinkedHashMap<>(4);
+      }
+      tags.put(key, value);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+/**
+ * A timed operation of the driver, e.g. a query run, a pool borrow or the conversion of a result.
+ * Spans are started by a {@link Tracer} or as the child of another span and must be ended exactly
+ * once. Tags may be set until the span is ended.
+ */
+public interface Span {
+
+  /** Span of a disabled tracer, every operation is a no-op and children are itself. */
+  Span NOOP =
+      new Span() {
+        @Override
+        public Span child(String name) {
+          return this;
+        }
+
+        @Override
+        public Span tag(String key, String value) {
+          return this;
+        }
+
+        @Override
+        public Span tag(String key, long value) {
+          return this;
+        }
+
+        @Override
+        public void error(Throwable t) {}
+
+        @Override
+        public void end() {}
+
+        @Override
+        public boolean isRecording() {
+          return false;
+        }
+      };
+
+  /**
+   * @param name name of the operation.
+   * @return a new started span, child of this one.
+   */
+  Span child(String name);
+
+  /**
+   * @param key name of the tag.
+   * @param value value of the tag.
+   * @return this span.
+   */
+  Span tag(String key, String value);
+
+  /**
+   * @param key name of the tag.
+   * @param value value of the tag.
+   * @return this span.
+   */
+  Span tag(String key, long value);
+
+  /**
+   * Mark the operation as failed.
+   *
+   * @param t cause of the failure.
+   */
+  void error(Throwable t);
+
+  /** End the operation, the span is exported if it is recorded. */
+  void end();
+
+  /**
+   * @return true if this span is exported, callers may skip computing costly tags otherwise.
+   */
+  boolean isRecording();
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+import java.util.Map;
+import lombok.Value;
+
+/** A span that ended, as handed to a {@link SpanExporter}. */
+@Value
+public class SpanData {
+  long traceId;
+  long spanId;
+  // 0 for the root span of a trace
+  long parentId;
+  String name;
+  // wall clock time the span started, unit: microseconds since the epoch
+  long startMicros;
+  long durationNanos;
+  Map<String, Object> tags;
+  // message of the failure, null if the operation succeeded
+  String error;
+}
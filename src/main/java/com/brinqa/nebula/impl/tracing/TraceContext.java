@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+import java.util.function.Supplier;
+
+/**
+ * Span current to a thread, the parent of the spans the driver starts on it. Work handed to another
+ * thread carries the current span along with {@link #wrap(Supplier)} or {@link #activate(Span)}.
+ */
+public final class TraceContext {
+
+  /** Restores the span current before {@link #activate(Span)}. */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final ThreadLocal<Span> CURRENT = ThreadLocal.withInitial(() -> Span.NOOP);
+  private static final Scope NOOP = () -> {};
+
+  private TraceContext() {}
+
+  /**
+   * @return the span current to this thread, {@link Span#NOOP} if there is none.
+   */
+  public static Span current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Make a span current to this thread until the scope returned is closed.
+   *
+   * @param span the span, possibly {@link Span#NOOP}.
+   * @return scope restoring the previous span.
+   */
+  public static Scope activate(Span span) {
+    final var previous = CURRENT.get();
+    if (previous == span) {
+      return NOOP;
+    }
+    CURRENT.set(span);
+    return () -> CURRENT.set(previous);
+  }
+
+  /**
+   * @param supplier work to run on another thread.
+   * @return the work, run with the span current to this thread.
+   */
+  public static <T> Supplier<T> wrap(Supplier<T> supplier) {
+    final var span = current();
+    if (span == Span.NOOP) {
+      return supplier;
+    }
+    return () -> {
+      try (var scope = activate(span)) {
+        return supplier.get();
+      }
+    };
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+/**
+ * Tracing SPI of the driver. The driver starts a span per query run, with children for the pool
+ * borrow, the USE of the space, the execution of the statement and the conversion of the result.
+ * The conversion span starts with the first record read, by any means, and ends once every record
+ * is read or the result is consumed. The spans of a run follow it across the threads of the async
+ * and reactive sessions through {@link TraceContext}.
+ */
+@FunctionalInterface
+public interface Tracer {
+
+  /** Default tracer, spans are never recorded and nothing is allocated. */
+  Tracer NOOP = (name, parent) -> Span.NOOP;
+
+  /**
+   * @param name name of the operation.
+   * @param parent current span of the caller, {@link Span#NOOP} if there is none.
+   * @return a new started span.
+   */
+  Span start(String name, Span parent);
+}
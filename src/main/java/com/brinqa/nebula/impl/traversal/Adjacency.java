@@ -0,0 +1,191 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.traversal;
+
+import com.brinqa.nebula.impl.util.LongIntHashMap;
+import java.util.Arrays;
+
+/**
+ * Compressed sparse row adjacency of a directed graph with integer vertex ids. Vertices are
+ * numbered densely from 0 in order of first appearance, the out-edges of vertex {@code v} are the
+ * targets from {@code offsets[v]} up to {@code offsets[v + 1]}, with optional weights at the same
+ * positions. The arrays are shared, not copied, so parallel algorithms can read them directly but
+ * must not modify them.
+ */
+public class Adjacency {
+
+  private final long[] vids;
+  private final LongIntHashMap index;
+  private final int[] offsets;
+  private final int[] targets;
+  private final double[] weights;
+
+  Adjacency(long[] vids, LongIntHashMap index, int[] offsets, int[] targets, double[] weights) {
+    this.vids = vids;
+    this.index = index;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+  }
+
+  public int vertexCount() {
+    return vids.length;
+  }
+
+  public int edgeCount() {
+    return targets.length;
+  }
+
+  /**
+   * @param vertex dense index of a vertex.
+   * @return the vertex id.
+   */
+  public long vid(int vertex) {
+    return vids[vertex];
+  }
+
+  /**
+   * @param vid vertex id.
+   * @return the dense index of the vertex, -1 if it is not in the graph.
+   */
+  public int vertex(long vid) {
+    return index.get(vid, -1);
+  }
+
+  /**
+   * @param vertex dense index of a vertex.
+   * @return number of out-edges of the vertex.
+   */
+  public int degree(int vertex) {
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  /**
+   * @return start of the out-edges of each vertex, followed by the number of edges.
+   */
+  public int[] offsets() {
+    return offsets;
+  }
+
+  /**
+   * @return dense index of the target of each edge.
+   */
+  public int[] targets() {
+    return targets;
+  }
+
+  /**
+   * @return weight of each edge, NaN for edges without one, null if weights were not loaded.
+   */
+  public double[] weights() {
+    return weights;
+  }
+
+  public boolean hasWeights() {
+    return null != weights;
+  }
+
+  public static Builder builder(boolean weighted) {
+    return new Builder(weighted);
+  }
+
+  /** Collects edges in primitive arrays and sorts them into rows by source. */
+  public static class Builder {
+    private final LongIntHashMap index = new LongIntHashMap();
+    private final boolean weighted;
+    private long[] vids = new long[16];
+    private int[] sources = new int[16];
+    private int[] targets = new int[16];
+    private double[] weights;
+    private int edges;
+
+    Builder(boolean weighted) {
+      this.weighted = weighted;
+      this.weights = weighted ? new double[16] : null;
+    }
+
+    /**
+     * @param src id of the source vertex.
+     * @param dst id of the destination vertex.
+     * @param weight weight of the edge, ignored if the adjacency is not weighted.
+     * @return this builder.
+     */
+    public Builder add(long src, long dst, double weight) {
+      if (edges == sources.length) {
+        final var capacity = edges << 1;
+        sources = Arrays.copyOf(sources, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        if (weighted) {
+          weights = Arrays.copyOf(weights, capacity);
+        }
+      }
+      sources[edges] = vertex(src);
+      targets[edges] = vertex(dst);
+      if (weighted) {
+        weights[edges] = weight;
+      }
+      edges++;
+      return this;
+    }
+
+    /**
+     * Add a vertex without edges, e.g. an isolated seed.
+     *
+     * @param vid vertex id.
+     * @return this builder.
+     */
+    public Builder addVertex(long vid) {
+      vertex(vid);
+      return this;
+    }
+
+    public Adjacency build() {
+      final int n = index.size();
+      // counting sort of the edges by source, stable so rows keep the order edges were added in
+      final var offsets = new int[n + 1];
+      for (int e = 0; e < edges; e++) {
+        offsets[sources[e] + 1]++;
+      }
+      for (int v = 0; v < n; v++) {
+        offsets[v + 1] += offsets[v];
+      }
+      final var cursor = Arrays.copyOf(offsets, n);
+      final var sortedTargets = new int[edges];
+      final var sortedWeights = weighted ? new double[edges] : null;
+      for (int e = 0; e < edges; e++) {
+        final int position = cursor[sources[e]]++;
+        sortedTargets[position] = targets[e];
+        if (weighted) {
+          sortedWeights[position] = weights[e];
+        }
+      }
+      return new Adjacency(Arrays.copyOf(vids, n), index, offsets, sortedTargets, sortedWeights);
+    }
+
+    int vertex(long vid) {
+      final int next = index.size();
+      final int existing = index.putIfAbsent(vid, next, -1);
+      if (existing >= 0) {
+        return existing;
+      }
+      if (next == vids.length) {
+        vids = Arrays.copyOf(vids, next << 1);
+      }
+      vids[next] = vid;
+      return next;
+    }
+  }
+}
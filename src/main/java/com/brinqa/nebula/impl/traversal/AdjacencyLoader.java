@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.traversal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+
+import com.brinqa.nebula.impl.QueryConverter;
+import com.vesoft.nebula.Edge;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.neo4j.driver.Query;
+
+/**
+ * Loads the topology around the seeds of a {@link Traversal} into an {@link Adjacency}. The rows
+ * received are read as raw Nebula values, no record, node or relationship is built. Only spaces
+ * with integer vertex ids are supported.
+ */
+public class AdjacencyLoader {
+
+  private final BiConsumer<Query, Consumer<ResultSet>> export;
+
+  /**
+   * @param export executes a query and hands the result set received to a consumer.
+   */
+  public AdjacencyLoader(BiConsumer<Query, Consumer<ResultSet>> export) {
+    this.export = export;
+  }
+
+  /**
+   * Load the edges followed by {@code GO 1 TO maxDepth STEPS}, an edge reached over several paths
+   * is added once per path.
+   *
+   * @param traversal seeds, edge types, direction and depth to load.
+   * @param weightProperty edge property to load as weights, null for an unweighted adjacency.
+   * @return the adjacency, edges keep their stored direction.
+   */
+  public Adjacency go(Traversal traversal, String weightProperty) {
+    final var builder = Adjacency.builder(null != weightProperty);
+    traversal.getSeeds().forEach(seed -> builder.addVertex(toVid(seed)));
+    export.accept(
+        new Query(goText(traversal, weightProperty)),
+        resultSet -> {
+          if (resultSet.isEmpty()) {
+            return;
+          }
+          for (var row : resultSet.getRows()) {
+            final var values = row.getValues();
+            final var weight = null == weightProperty ? Double.NaN : toWeight(values.get(2));
+            builder.add(toVid(values.get(0)), toVid(values.get(1)), weight);
+          }
+        });
+    return builder.build();
+  }
+
+  /**
+   * Load the edges of {@code GET SUBGRAPH maxDepth STEPS}, each edge of the subgraph is added once.
+   *
+   * @param traversal seeds, edge types, direction and depth to load, the direction only applies if
+   *     edge types are given.
+   * @param weightProperty edge property to load as weights, null for an unweighted adjacency.
+   * @return the adjacency, edges keep their stored direction.
+   */
+  public Adjacency subgraph(Traversal traversal, String weightProperty) {
+    final var builder = Adjacency.builder(null != weightProperty);
+    final var weightKey = null == weightProperty ? null : weightProperty.getBytes(UTF_8);
+    traversal.getSeeds().forEach(seed -> builder.addVertex(toVid(seed)));
+    export.accept(
+        new Query(subgraphText(traversal, weightProperty)),
+        resultSet -> {
+          if (resultSet.isEmpty()) {
+            return;
+          }
+          for (var row : resultSet.getRows()) {
+            final var edges = row.getValues().get(0);
+            if (edges.getSetField() != Value.LVAL) {
+              continue;
+            }
+            for (Value value : edges.getLVal().getValues()) {
+              addEdge(builder, value.getEVal(), weightKey);
+            }
+          }
+        });
+    return builder.build();
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  static String goText(Traversal traversal, String weightProperty) {
+    final var edgeTypes =
+        traversal.getEdgeTypes().isEmpty() ? "*" : String.join(", ", traversal.getEdgeTypes());
+    return "GO 1 TO "
+        + traversal.getMaxDepth()
+        + " STEPS FROM "
+        + ids(traversal)
+        + " OVER "
+        + edgeTypes
+        + traversal.getDirection().keyword
+        + " YIELD src(edge) AS src, dst(edge) AS dst"
+        + (null == weightProperty ? "" : ", properties(edge).`" + weightProperty + "` AS weight");
+  }
+
+  static String subgraphText(Traversal traversal, String weightProperty) {
+    final var edgeTypes =
+        traversal.getEdgeTypes().isEmpty()
+            ? ""
+            : " "
+                + traversal.getDirection().name()
+                + " "
+                + String.join(", ", traversal.getEdgeTypes());
+    return "GET SUBGRAPH"
+        + (null == weightProperty ? "" : " WITH PROP")
+        + " "
+        + traversal.getMaxDepth()
+        + " STEPS FROM "
+        + ids(traversal)
+        + edgeTypes
+        + " YIELD EDGES AS edges";
+  }
+
+  static String ids(Traversal traversal) {
+    return traversal.getSeeds().stream()
+        .map(QueryConverter::convertToString)
+        .collect(joining(", "));
+  }
+
+  static void addEdge(Adjacency.Builder builder, Edge edge, byte[] weightKey) {
+    // edges reached in reverse have their ends swapped and a negative type
+    final var src = edge.getType() > 0 ? edge.getSrc() : edge.getDst();
+    final var dst = edge.getType() > 0 ? edge.getDst() : edge.getSrc();
+    var weight = Double.NaN;
+    if (null != weightKey && null != edge.getProps()) {
+      for (var property : edge.getProps().entrySet()) {
+        if (Arrays.equals(weightKey, property.getKey())) {
+          weight = toWeight(property.getValue());
+          break;
+        }
+      }
+    }
+    builder.add(toVid(src), toVid(dst), weight);
+  }
+
+  static long toVid(Object vid) {
+    if (vid instanceof Number) {
+      return ((Number) vid).longValue();
+    }
+    throw new IllegalArgumentException("Adjacency requires integer vertex ids: " + vid);
+  }
+
+  static long toVid(Value vid) {
+    if (null == vid || vid.getSetField() != Value.IVAL) {
+      throw new IllegalArgumentException("Adjacency requires integer vertex ids: " + vid);
+    }
+    return vid.getIVal();
+  }
+
+  static double toWeight(Value value) {
+    if (null == value) {
+      return Double.NaN;
+    }
+    switch (value.getSetField()) {
+      case Value.IVAL:
+        return value.getIVal();
+      case Value.FVAL:
+        return value.getFVal();
+      default:
+        return Double.NaN;
+    }
+  }
+}
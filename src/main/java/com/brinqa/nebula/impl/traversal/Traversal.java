@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.traversal;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class Traversal {
+
+  public enum Direction {
+    /** Follow edges from source to destination. */
+    OUT(""),
+    /** Follow edges from destination to source. */
+    IN(" REVERSELY"),
+    /** Follow edges in both directions. */
+    BOTH(" BIDIRECT");
+
+    final String keyword;
+
+    Direction(String keyword) {
+      this.keyword = keyword;
+    }
+  }
+
+  /** IDs of the vertices to start from. */
+  @Singular List<Object> seeds;
+  /** Names of the edge types to follow, all edge types if empty. */
+  @Singular List<String> edgeTypes;
+  /** Direction to follow the edges in. */
+  @NonNull @Default Direction direction = Direction.OUT;
+  /** Max number of hops from the seeds. */
+  @Default int maxDepth = 1;
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.traversal;
+
+import lombok.Value;
+
+@Value
+public class TraversalEdge {
+  /** Source vertex ID of the edge. */
+  Object srcId;
+  /** Destination vertex ID of the edge. */
+  Object dstId;
+  /** Name of the edge type. */
+  String edgeType;
+  /** Rank of the edge. */
+  long rank;
+  /** ID of the vertex reached by following the edge. */
+  Object nextId;
+  /** Number of hops from the seeds, starting at 1. */
+  int depth;
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.traversal;
+
+import static java.util.stream.Collectors.joining;
+
+import com.brinqa.nebula.impl.QueryConverter;
+import com.brinqa.nebula.impl.util.LongHashSet;
+import com.google.common.collect.Lists;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+
+/**
+ * Expands a {@link Traversal} a whole frontier at a time. Each frontier is split in chunks of
+ * vertices fetched with a single {@code GO FROM id1, id2, ... OVER ...} query, several chunks run
+ * concurrently on pooled connections and edges are emitted as each chunk completes. Vertices are
+ * only expanded the first time they are reached.
+ */
+public class Traverser {
+
+  private final Function<Query, Result> run;
+  private final Scheduler scheduler;
+  private final int chunkSize;
+  private final int parallelism;
+
+  public Traverser(Function<Query, Result> run, Executor executor, int chunkSize, int parallelism) {
+    this.run = run;
+    this.scheduler = Schedulers.from(executor);
+    this.chunkSize = Math.max(1, chunkSize);
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  /**
+   * @param traversal seeds, edge types, direction and depth to expand.
+   * @return cold stream of the edges followed, ordered by depth.
+   */
+  public Flowable<TraversalEdge> traverse(Traversal traversal) {
+    return Flowable.defer(
+        () -> {
+          final var visited = new Visited();
+          final var frontier = new ArrayList<>();
+          traversal.getSeeds().stream().filter(visited::add).forEach(frontier::add);
+          return expand(traversal, frontier, 1, visited);
+        });
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  Flowable<TraversalEdge> expand(
+      Traversal traversal, List<Object> frontier, int depth, Visited visited) {
+    if (frontier.isEmpty() || depth > traversal.getMaxDepth()) {
+      return Flowable.empty();
+    }
+    // flatMap serializes the chunks, so the next frontier is only touched by one thread at a time
+    final var next = new ArrayList<>();
+    return Flowable.fromIterable(Lists.partition(frontier, chunkSize))
+        .flatMap(
+            chunk ->
+                Flowable.fromCallable(() -> go(traversal, chunk, depth))
+                    .subscribeOn(scheduler)
+                    .flatMapIterable(edges -> edges),
+            parallelism)
+        .doOnNext(
+            edge -> {
+              if (visited.add(edge.getNextId())) {
+                next.add(edge.getNextId());
+              }
+            })
+        .concatWith(Flowable.defer(() -> expand(traversal, next, depth + 1, visited)));
+  }
+
+  List<TraversalEdge> go(Traversal traversal, List<Object> chunk, int depth) {
+    final var result = run.apply(new Query(toText(traversal, chunk)));
+    final var edges = new ArrayList<TraversalEdge>();
+    while (result.hasNext()) {
+      edges.add(toEdge(result.next(), depth));
+    }
+    return edges;
+  }
+
+  static String toText(Traversal traversal, List<Object> chunk) {
+    final var ids = chunk.stream().map(QueryConverter::convertToString).collect(joining(", "));
+    final var edgeTypes =
+        traversal.getEdgeTypes().isEmpty() ? "*" : String.join(", ", traversal.getEdgeTypes());
+    return "GO FROM "
+        + ids
+        + " OVER "
+        + edgeTypes
+        + traversal.getDirection().keyword
+        + " YIELD src(edge) AS src, dst(edge) AS dst, type(edge) AS type, rank(edge) AS rank,"
+        + " id($$) AS next";
+  }
+
+  static TraversalEdge toEdge(Record record, int depth) {
+    return new TraversalEdge(
+        record.get("src").asObject(),
+        record.get("dst").asObject(),
+        record.get("type").asString(),
+        record.get("rank").asLong(),
+        record.get("next").asObject(),
+        depth);
+  }
+
+  /** Integer ids are tracked without boxing, string ids in a regular set. */
+  static class Visited {
+    final LongHashSet longs = new LongHashSet();
+    final Set<Object> others = new HashSet<>();
+
+    boolean add(Object vid) {
+      return vid instanceof Number ? longs.add(((Number) vid).longValue()) : others.add(vid);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of primitive longs, avoids boxing every element when tracking large
+ * numbers of integer vertex ids. Not thread safe.
+ */
+public class LongHashSet {
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private boolean[] used;
+  private int size;
+  private int threshold;
+
+  public LongHashSet() {
+    this(16);
+  }
+
+  public LongHashSet(int expectedSize) {
+    allocate(tableSize(expectedSize));
+  }
+
+  /**
+   * @param value value to add.
+   * @return true if the value was not already in the set.
+   */
+  public boolean add(long value) {
+    int slot = slot(value, keys.length);
+    while (used[slot]) {
+      if (keys[slot] == value) {
+        return false;
+      }
+      slot = (slot + 1) & (keys.length - 1);
+    }
+    used[slot] = true;
+    keys[slot] = value;
+    if (++size > threshold) {
+      rehash(keys.length << 1);
+    }
+    return true;
+  }
+
+  public boolean contains(long value) {
+    int slot = slot(value, keys.length);
+    while (used[slot]) {
+      if (keys[slot] == value) {
+        return true;
+      }
+      slot = (slot + 1) & (keys.length - 1);
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return 0 == size;
+  }
+
+  public void clear() {
+    Arrays.fill(used, false);
+    size = 0;
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  void rehash(int capacity) {
+    final var oldKeys = keys;
+    final var oldUsed = used;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        int slot = slot(oldKeys[i], keys.length);
+        while (used[slot]) {
+          slot = (slot + 1) & (keys.length - 1);
+        }
+        used[slot] = true;
+        keys[slot] = oldKeys[i];
+      }
+    }
+  }
+
+  void allocate(int capacity) {
+    keys = new long[capacity];
+    used = new boolean[capacity];
+    threshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  static int tableSize(int expectedSize) {
+    final var capacity = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+    return Integer.highestOneBit(capacity - 1) << 1;
+  }
+
+  /** Spread the bits as vertex ids are often sequential. */
+  static int slot(long value, int capacity) {
+    final var h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & (capacity - 1);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.util;
+
+import static com.brinqa.nebula.impl.util.LongHashSet.slot;
+import static com.brinqa.nebula.impl.util.LongHashSet.tableSize;
+
+/**
+ * Open addressing hash map of primitive long keys to primitive int values, e.g. to map vertex ids
+ * to dense indexes without boxing either. Not thread safe.
+ */
+public class LongIntHashMap {
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private int[] values;
+  private boolean[] used;
+  private int size;
+  private int threshold;
+
+  public LongIntHashMap() {
+    this(16);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    allocate(tableSize(expectedSize));
+  }
+
+  /**
+   * @param key key to map.
+   * @param value value of the key.
+   * @param missing returned if the key was not mapped.
+   * @return the previous value of the key, or missing.
+   */
+  public int put(long key, int value, int missing) {
+    int slot = slot(key, keys.length);
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        final var previous = values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & (keys.length - 1);
+    }
+    used[slot] = true;
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > threshold) {
+      rehash(keys.length << 1);
+    }
+    return missing;
+  }
+
+  /**
+   * @param key key to map.
+   * @param value value of the key if it is not mapped yet.
+   * @param missing returned if the key was not mapped.
+   * @return the current value of the key, or missing if it was mapped to value.
+   */
+  public int putIfAbsent(long key, int value, int missing) {
+    int slot = slot(key, keys.length);
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+      slot = (slot + 1) & (keys.length - 1);
+    }
+    used[slot] = true;
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > threshold) {
+      rehash(keys.length << 1);
+    }
+    return missing;
+  }
+
+  /**
+   * @param key key to look up.
+   * @param missing returned if the key is not mapped.
+   * @return the value of the key, or missing.
+   */
+  public int get(long key, int missing) {
+    int slot = slot(key, keys.length);
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+      slot = (slot + 1) & (keys.length - 1);
+    }
+    return missing;
+  }
+
+  public boolean containsKey(long key) {
+    int slot = slot(key, keys.length);
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return true;
+      }
+      slot = (slot + 1) & (keys.length - 1);
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return 0 == size;
+  }
+
+  // =========================================================================
+  // Internal methods
+  // =========================================================================
+
+  void rehash(int capacity) {
+    final var oldKeys = keys;
+    final var oldValues = values;
+    final var oldUsed = used;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldUsed[i]) {
+        int slot = slot(oldKeys[i], keys.length);
+        while (used[slot]) {
+          slot = (slot + 1) & (keys.length - 1);
+        }
+        used[slot] = true;
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    used = new boolean[capacity];
+    threshold = (int) (capacity * LOAD_FACTOR);
+  }
+}
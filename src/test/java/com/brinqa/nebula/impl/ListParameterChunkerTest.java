@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class ListParameterChunkerTest {
+  private static final List<Long> IDS =
+      LongStream.range(0, 10).boxed().collect(Collectors.toList());
+
+  @Test
+  public void testSplit() {
+    final var query =
+        new Query(
+            "MATCH (n:Host) WHERE id(n) IN $ids AND n.Host.zone == $zone RETURN n",
+            Map.of("ids", IDS, "zone", "a", "small", List.of(1, 2)));
+    final var chunks = ListParameterChunker.split(query, 4);
+    Assert.assertEquals(3, chunks.size());
+    Assert.assertEquals(
+        List.of(8L, 9L), chunks.get(2).parameters().get("ids").asList(value -> value.asLong()));
+    for (var chunk : chunks) {
+      Assert.assertEquals(query.text(), chunk.text());
+      Assert.assertEquals("a", chunk.parameters().get("zone").asString());
+      Assert.assertEquals(2, chunk.parameters().get("small").size());
+    }
+  }
+
+  @Test
+  public void testNotSplit() {
+    final var params = Map.<String, Object>of("ids", IDS);
+    // small enough
+    Assert.assertEquals(
+        List.of(), ListParameterChunker.split(new Query("MATCH (n) RETURN n", params), 10));
+    // disabled
+    Assert.assertEquals(
+        List.of(), ListParameterChunker.split(new Query("MATCH (n) RETURN n", params), 0));
+    // rows are combined
+    for (var text :
+        List.of(
+            "MATCH (n) WHERE id(n) IN $ids RETURN count(n)",
+            "MATCH (n) WHERE id(n) IN $ids RETURN n ORDER BY id(n)",
+            "MATCH (n) WHERE id(n) IN $ids RETURN n LIMIT 5",
+            "MATCH (n) WHERE id(n) IN $ids RETURN DISTINCT n.Host.zone")) {
+      Assert.assertEquals(text, List.of(), ListParameterChunker.split(new Query(text, params), 4));
+    }
+  }
+
+  @Test
+  public void testNotSplitNegated() {
+    final var params = Map.<String, Object>of("ids", IDS);
+    for (var text :
+        List.of(
+            "MATCH (n) WHERE NOT id(n) IN $ids RETURN n",
+            "MATCH (n) WHERE id(n) NOT IN $ids RETURN n",
+            "MATCH (n) WHERE NOT (n.Host.zone == 'a' AND id(n) IN $ids) RETURN n")) {
+      Assert.assertEquals(text, List.of(), ListParameterChunker.split(new Query(text, params), 4));
+    }
+    // IS NOT does not negate the membership
+    final var text = "MATCH (n) WHERE n.Host.zone IS NOT NULL AND id(n) IN $ids RETURN n";
+    Assert.assertEquals(3, ListParameterChunker.split(new Query(text, params), 4).size());
+  }
+
+  @Test
+  public void testNotSplitOtherReferences() {
+    final var params = Map.<String, Object>of("ids", IDS);
+    for (var text :
+        List.of(
+            "MATCH (a)-->(b) WHERE id(a) IN $ids AND id(b) IN $ids RETURN a, b",
+            "MATCH (n) WHERE id(n) IN $ids RETURN n, size($ids)",
+            "MATCH (n) WHERE size($ids) > 3 RETURN n",
+            "RETURN $ids")) {
+      Assert.assertEquals(text, List.of(), ListParameterChunker.split(new Query(text, params), 4));
+    }
+    // a parameter sharing the prefix is another parameter
+    final var text = "MATCH (n) WHERE id(n) IN $ids AND n.Host.zone IN $idsZones RETURN n";
+    final var chunks =
+        ListParameterChunker.split(
+            new Query(text, Map.of("ids", IDS, "idsZones", List.of("a"))), 4);
+    Assert.assertEquals(3, chunks.size());
+  }
+
+  @Test
+  public void testNotSplitOtherRows() {
+    final var params = Map.<String, Object>of("ids", IDS);
+    for (var text :
+        List.of(
+            "MATCH (n) WHERE id(n) IN $ids OR n.Host.zone == 'a' RETURN n",
+            "MATCH (n) WHERE n.Host.zone == 'a' OR id(n) IN $ids RETURN n",
+            "MATCH (n) WHERE id(n) IN $ids XOR n.Host.zone == 'a' RETURN n",
+            "MATCH (n) OPTIONAL MATCH (n)-->(m) WHERE id(m) IN $ids RETURN n, m",
+            "MATCH (n) WHERE n.Host.zone == 'a' AND (id(n) IN $ids) RETURN n",
+            "MATCH (n) WHERE n.Host.zone == 'a' WITH n MATCH (m) WHERE id(m) IN $ids RETURN n, m",
+            "MATCH (n) WHERE n.Host.zone == 'a' RETURN [x IN $ids] AS ids",
+            "GO FROM $ids OVER e YIELD dst(edge)")) {
+      Assert.assertEquals(text, List.of(), ListParameterChunker.split(new Query(text, params), 4));
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.vesoft.nebula.Edge;
+import com.vesoft.nebula.Tag;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.Vertex;
+import com.vesoft.nebula.client.graph.data.ValueWrapper;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Values;
+
+public class NebulaNodeTest {
+
+  static Tag tag(String name, Map<String, Value> props) {
+    final var raw = new HashMap<byte[], Value>();
+    props.forEach((key, value) -> raw.put(key.getBytes(UTF_8), value));
+    return new Tag(name.getBytes(UTF_8), raw);
+  }
+
+  static Value string(String s) {
+    return Value.sVal(s.getBytes(UTF_8));
+  }
+
+  @Test
+  public void testNode() {
+    final var vertex =
+        new Vertex(
+            Value.iVal(7L),
+            List.of(
+                tag("Host", Map.of("name", string("a"), "cores", Value.iVal(8L))),
+                tag("Asset", Map.of("name", string("b"), "owner", string("c")))));
+    final var value =
+        NebulaToNeo4jConverter.toValue(new ValueWrapper(Value.vVal(vertex), "utf-8", 0));
+    final var node = value.asNode();
+    Assert.assertTrue(node instanceof NebulaNode);
+    Assert.assertEquals(7L, node.id());
+    Assert.assertEquals(List.of("Host", "Asset"), node.labels());
+    Assert.assertTrue(node.hasLabel("Asset"));
+    Assert.assertEquals(3, node.size());
+    Assert.assertTrue(node.containsKey("owner"));
+    Assert.assertEquals(Set.of("name", "cores", "owner"), Set.copyOf(node.asMap().keySet()));
+    // the first tag wins
+    Assert.assertEquals("a", node.get("name").asString());
+    Assert.assertSame(node.get("name"), node.get("name"));
+    Assert.assertEquals(8L, node.get("cores").asLong());
+    Assert.assertTrue(node.get("missing").isNull());
+    Assert.assertEquals(Map.of("name", "a", "cores", 8L, "owner", "c"), node.asMap());
+    Assert.assertEquals(value.get("name"), Values.value("a"));
+  }
+
+  @Test
+  public void testRelationship() {
+    final var props = new HashMap<byte[], Value>();
+    props.put("likeness".getBytes(UTF_8), Value.fVal(1.5));
+    final var edge = new Edge(Value.iVal(1L), Value.iVal(2L), 3, "like".getBytes(UTF_8), 4L, props);
+    final var relationship =
+        NebulaToNeo4jConverter.toValue(new ValueWrapper(Value.eVal(edge), "utf-8", 0))
+            .asRelationship();
+    Assert.assertEquals(1L, relationship.startNodeId());
+    Assert.assertEquals(2L, relationship.endNodeId());
+    Assert.assertTrue(relationship.hasType("like"));
+    Assert.assertEquals(4L, ((NebulaRelationship) relationship).rank());
+    Assert.assertEquals(1.5, relationship.get("likeness").asDouble(), 0.0);
+    Assert.assertEquals(Map.of("likeness", 1.5), relationship.asMap());
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.vesoft.nebula.graph.Pair;
+import com.vesoft.nebula.graph.PlanDescription;
+import com.vesoft.nebula.graph.PlanNodeBranchInfo;
+import com.vesoft.nebula.graph.PlanNodeDescription;
+import com.vesoft.nebula.graph.ProfilingStats;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class NebulaPlanTest {
+
+  static PlanNodeDescription node(String name, long id, List<Long> dependencies) {
+    final var output = "__" + name + "_" + id;
+    final var ret = new PlanNodeDescription(name.getBytes(), id, output.getBytes());
+    ret.setDependencies(dependencies);
+    return ret;
+  }
+
+  static PlanDescription plan(boolean profiled) {
+    final var project = node("Project", 3, List.of(2L));
+    final var filter = node("Filter", 2, List.of(1L));
+    filter.setDescription(List.of(new Pair("condition".getBytes(), "(v.age>10)".getBytes())));
+    final var scan = node("IndexScan", 1, List.of(0L));
+    final var start = node("Start", 0, List.of());
+    if (profiled) {
+      scan.setProfiles(
+          List.of(
+              new ProfilingStats(100, 40, 50, Map.of("storage".getBytes(), "3ms".getBytes())),
+              new ProfilingStats(20, 10, 12)));
+      filter.setProfiles(List.of(new ProfilingStats(5, 7, 8)));
+    }
+    return new PlanDescription(List.of(start, scan, filter, project), Map.of(), null, 0);
+  }
+
+  @Test
+  public void testProfile() {
+    final var summary =
+        new ResultSummaryImpl(0L, new Query("PROFILE LOOKUP ON t"), "test", null, plan(true));
+    Assert.assertTrue(summary.hasPlan());
+    Assert.assertTrue(summary.hasProfile());
+    final var root = summary.profile();
+    Assert.assertEquals("Project", root.operatorType());
+    Assert.assertEquals(List.of("__Project_3"), root.identifiers());
+    final var filter = root.children().get(0);
+    Assert.assertEquals("(v.age>10)", filter.arguments().get("condition").asString());
+    Assert.assertEquals(5, filter.records());
+    final var scan = filter.children().get(0);
+    Assert.assertEquals("IndexScan", scan.operatorType());
+    Assert.assertEquals(120, scan.records());
+    Assert.assertEquals(50, scan.time());
+    Assert.assertEquals(2, scan.arguments().get("executions").asInt());
+    Assert.assertEquals(62, scan.arguments().get("totalDurationInUs").asLong());
+    Assert.assertEquals("3ms", scan.arguments().get("storage").asString());
+    Assert.assertEquals("Start", scan.children().get(0).operatorType());
+    Assert.assertTrue(scan.children().get(0).children().isEmpty());
+  }
+
+  @Test
+  public void testExplain() {
+    final var summary =
+        new ResultSummaryImpl(0L, new Query("EXPLAIN LOOKUP ON t"), "test", null, plan(false));
+    Assert.assertTrue(summary.hasPlan());
+    Assert.assertFalse(summary.hasProfile());
+    Assert.assertNull(summary.profile());
+    Assert.assertEquals("Project", summary.plan().operatorType());
+    Assert.assertEquals(0, ((NebulaPlan) summary.plan()).records());
+
+    final var none = new ResultSummaryImpl(0L, new Query("RETURN 1"), "test", null);
+    Assert.assertFalse(none.hasPlan());
+    Assert.assertNull(none.plan());
+  }
+
+  @Test
+  public void testLoopBranch() {
+    final var loop = node("Loop", 2, List.of(0L));
+    final var body = node("GetNeighbors", 1, List.of());
+    body.setBranch_info(new PlanNodeBranchInfo(true, 2L));
+    final var description =
+        new PlanDescription(
+            List.of(node("Start", 0, List.of()), body, loop, node("Project", 3, List.of(2L))),
+            Map.of(),
+            null,
+            0);
+    final var root = NebulaPlan.of(description);
+    Assert.assertEquals("Project", root.operatorType());
+    final var children = root.children().get(0).children();
+    Assert.assertEquals(2, children.size());
+    Assert.assertEquals("Start", children.get(0).operatorType());
+    Assert.assertEquals("GetNeighbors", children.get(1).operatorType());
+  }
+
+  @Test
+  public void testSampleProfile() {
+    final var read = "MATCH (v:t) RETURN v;";
+    Assert.assertEquals("PROFILE " + read, SessionImpl.sampleProfile(read, 1.0));
+    Assert.assertEquals(read, SessionImpl.sampleProfile(read, 0.0));
+    // a pipe is a single statement
+    final var pipe = "GO FROM 1 OVER e YIELD dst(edge) AS id | YIELD $-.id";
+    Assert.assertEquals("PROFILE " + pipe, SessionImpl.sampleProfile(pipe, 1.0));
+    for (var text :
+        List.of(
+            "INSERT VERTEX t() VALUES 1:()",
+            "profile MATCH (v) RETURN v",
+            "EXPLAIN MATCH (v) RETURN v",
+            "YIELD 1; YIELD 2")) {
+      Assert.assertEquals(text, SessionImpl.sampleProfile(text, 1.0));
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+public class PagedResultTest {
+  private static final Pattern SKIP_LIMIT = Pattern.compile(".* SKIP (\\d+) LIMIT (\\d+)");
+  private static final Pattern LIMIT = Pattern.compile(".* LIMIT (\\d+)");
+  private static final List<String> KEYS = List.of("vid");
+  private static final int ROWS = 25;
+
+  private final List<Query> queries = new ArrayList<>();
+
+  /** Rows 0 to 24 ordered by vid. */
+  synchronized Result run(Query query) {
+    queries.add(query);
+    final var records = new ArrayList<Record>();
+    final var skipLimit = SKIP_LIMIT.matcher(query.text());
+    final var limit = LIMIT.matcher(query.text());
+    long from;
+    long count;
+    if (skipLimit.matches()) {
+      from = Long.parseLong(skipLimit.group(1));
+      count = Long.parseLong(skipLimit.group(2));
+    } else {
+      Assert.assertTrue(query.text(), limit.matches());
+      from = query.parameters().get("after").asLong() + 1;
+      count = Long.parseLong(limit.group(1));
+    }
+    for (long vid = from; vid < Math.min(ROWS, from + count); vid++) {
+      records.add(new InternalRecord(KEYS, new Value[] {Values.value(vid)}));
+    }
+    return new MaterializedResult(KEYS, records, null);
+  }
+
+  static List<Long> vids(Result result) {
+    return result.list(record -> record.get("vid").asLong());
+  }
+
+  @Test
+  public void testOffset() {
+    final var query = new Query("MATCH (v) RETURN id(v) AS vid ORDER BY vid;");
+    final var pagination = Pagination.builder().pageSize(10).build();
+    final var result = new PagedResult(query, pagination, this::run, Runnable::run);
+    Assert.assertEquals(KEYS, result.keys());
+    Assert.assertEquals(0L, result.peek().get("vid").asLong());
+    Assert.assertEquals(
+        List.of(
+            "MATCH (v) RETURN id(v) AS vid ORDER BY vid SKIP 0 LIMIT 10",
+            "MATCH (v) RETURN id(v) AS vid ORDER BY vid SKIP 10 LIMIT 10"),
+        queries.stream().map(Query::text).collect(Collectors.toList()));
+    Assert.assertEquals(ROWS, vids(result).size());
+    Assert.assertEquals(3, queries.size());
+    Assert.assertFalse(result.hasNext());
+  }
+
+  @Test
+  public void testKeyset() {
+    final var query =
+        new Query(
+            "MATCH (v) WHERE id(v) > $after RETURN id(v) AS vid ORDER BY vid",
+            Map.of("zone", "a"));
+    final var pagination =
+        Pagination.builder().pageSize(5).keyColumn("vid").firstKey(-1L).build();
+    final var result = new PagedResult(query, pagination, this::run, Runnable::run);
+    final var vids = vids(result);
+    Assert.assertEquals(ROWS, vids.size());
+    Assert.assertEquals(24L, (long) vids.get(24));
+    // 5 full pages and an empty one
+    Assert.assertEquals(6, queries.size());
+    Assert.assertEquals(19L, queries.get(4).parameters().get("after").asLong());
+    Assert.assertEquals("a", queries.get(4).parameters().get("zone").asString());
+  }
+
+  @Test
+  public void testKeysetWithoutFirstKey() {
+    final var query = new Query("MATCH (v) WHERE id(v) > $after RETURN id(v) AS vid ORDER BY vid");
+    final var pagination = Pagination.builder().pageSize(5).keyColumn("vid").build();
+    try {
+      new PagedResult(query, pagination, this::run, Runnable::run);
+      Assert.fail("first key is required");
+    } catch (IllegalArgumentException expected) {
+      Assert.assertTrue(queries.isEmpty());
+    }
+  }
+
+  @Test
+  public void testLazyFirstPage() {
+    final var query = new Query("MATCH (v) RETURN id(v) AS vid ORDER BY vid");
+    final var pagination = Pagination.builder().pageSize(10).build();
+    final var result = new PagedResult(query, pagination, this::run, Runnable::run);
+    Assert.assertTrue(queries.isEmpty());
+    result.consume();
+    // the first page is full, still the next one is not fetched only to be dropped
+    Assert.assertEquals(
+        List.of("MATCH (v) RETURN id(v) AS vid ORDER BY vid SKIP 0 LIMIT 10"),
+        queries.stream().map(Query::text).collect(Collectors.toList()));
+    Assert.assertFalse(result.hasNext());
+  }
+
+  @Test
+  public void testLimitedQuery() {
+    final var pagination = Pagination.builder().pageSize(10).build();
+    for (var text :
+        List.of(
+            "MATCH (v) RETURN id(v) AS vid ORDER BY vid LIMIT 5",
+            "MATCH (v) RETURN id(v) AS vid ORDER BY vid SKIP 5",
+            "LOOKUP ON Host YIELD id(vertex) AS vid | limit 5")) {
+      try {
+        new PagedResult(new Query(text), pagination, this::run, Runnable::run);
+        Assert.fail(text);
+      } catch (IllegalArgumentException expected) {
+        Assert.assertTrue(queries.isEmpty());
+      }
+    }
+  }
+
+  @Test
+  public void testNebulaSyntax() {
+    final var query = new Query("LOOKUP ON Host YIELD id(vertex) AS vid | ORDER BY $-.vid");
+    final Function<Query, Result> run =
+        page -> {
+          queries.add(page);
+          return new MaterializedResult(KEYS, List.of(), null);
+        };
+    final var pagination = Pagination.builder().pageSize(100).build();
+    final var result = new PagedResult(query, pagination, run, Runnable::run);
+    Assert.assertFalse(result.hasNext());
+    Assert.assertEquals(
+        "LOOKUP ON Host YIELD id(vertex) AS vid | ORDER BY $-.vid | LIMIT 0, 100",
+        queries.get(0).text());
+  }
+}
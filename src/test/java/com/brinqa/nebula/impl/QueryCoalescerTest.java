@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.DriverConfig;
+import com.vesoft.nebula.DataSet;
+import com.vesoft.nebula.ErrorCode;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.exceptions.ClientException;
+
+public class QueryCoalescerTest {
+  private static final String SPACE = "test_space";
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final QueryCoalescer coalescer =
+      new QueryCoalescer(DriverConfig.defaultConfig(SPACE).toBuilder().coalesceReads(true).build());
+
+  ResultImpl load(Query query) {
+    final var row = new Row(List.of(new Value(Value.IVAL, (long) loads.incrementAndGet())));
+    final var data = new DataSet(List.of("n".getBytes()), List.of(row));
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    response.data = data;
+    return new ResultImpl(
+        new ResultSet(response, 0), new ResultSummaryImpl(0L, query, SPACE, null));
+  }
+
+  @Test
+  public void testConcurrentReadsShareExecution() throws Exception {
+    final var query = new Query("MATCH (v) RETURN count(v) AS n");
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var executor = Executors.newFixedThreadPool(4);
+    try {
+      final var leader =
+          executor.submit(
+              () ->
+                  coalescer.execute(
+                      SPACE,
+                      query,
+                      () -> {
+                        started.countDown();
+                        await(release);
+                        return load(query);
+                      }));
+      Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+      final var follower =
+          executor.submit(() -> coalescer.execute(SPACE, query, () -> load(query)));
+      // give the follower time to join the in-flight query before releasing it
+      Thread.sleep(100);
+      release.countDown();
+      Assert.assertEquals(1L, leader.get(10, TimeUnit.SECONDS).single().get("n").asLong());
+      Assert.assertEquals(1L, follower.get(10, TimeUnit.SECONDS).single().get("n").asLong());
+      Assert.assertEquals(1, loads.get());
+      // nothing in-flight any more so the next read executes again
+      final var next = coalescer.execute(SPACE, query, () -> load(query));
+      Assert.assertEquals(2L, next.single().get("n").asLong());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testWriteDetachesInFlightReads() throws Exception {
+    final var query = new Query("MATCH (v) RETURN count(v) AS n");
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var executor = Executors.newFixedThreadPool(4);
+    try {
+      final var leader =
+          executor.submit(
+              () ->
+                  coalescer.execute(
+                      SPACE,
+                      query,
+                      () -> {
+                        started.countDown();
+                        await(release);
+                        return load(query);
+                      }));
+      Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+      // a write after the leader was sent, the next read must not see its rows
+      coalescer.invalidate(SPACE);
+      final var reader = coalescer.execute(SPACE, query, () -> load(query));
+      Assert.assertEquals(1L, reader.single().get("n").asLong());
+      release.countDown();
+      Assert.assertEquals(2L, leader.get(10, TimeUnit.SECONDS).single().get("n").asLong());
+      Assert.assertEquals(2, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = ClientException.class)
+  public void testFailurePropagates() {
+    coalescer.execute(
+        SPACE,
+        new Query("MATCH (v) RETURN v"),
+        () -> {
+          throw new ClientException("boom");
+        });
+  }
+
+  static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
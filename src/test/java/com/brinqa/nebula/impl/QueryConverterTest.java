@@ -44,6 +44,10 @@ public class QueryConverterTest {
             new Query("MATCH (n:Host {id: $id}) RETURN n", Map.of("id", 123)),
             "MATCH (n:Host {id: 123}) RETURN n"
           },
+          {
+            new Query("MATCH (n:Host {name: $name}) RETURN n", Map.of("name", "a\"b\\c")),
+            "MATCH (n:Host {name: \"a\\\"b\\\\c\"}) RETURN n"
+          },
         });
   }
 
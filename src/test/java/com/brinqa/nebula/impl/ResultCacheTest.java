@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.DriverConfig;
+import com.vesoft.nebula.DataSet;
+import com.vesoft.nebula.ErrorCode;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class ResultCacheTest {
+  private static final String SPACE = "test_space";
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final ResultCache cache =
+      new ResultCache(
+          DriverConfig.defaultConfig(SPACE).toBuilder().resultCacheMaxBytes(1024 * 1024).build());
+
+  ResultImpl load(Query query) {
+    loads.incrementAndGet();
+    final var row = new Row(List.of(new Value(Value.IVAL, (long) loads.get())));
+    final var data = new DataSet(List.of("n".getBytes()), List.of(row));
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    response.data = data;
+    return new ResultImpl(
+        new ResultSet(response, 0), new ResultSummaryImpl(0L, query, SPACE, null));
+  }
+
+  long get(String text) {
+    final var query = new Query(text);
+    return cache.get(SPACE, query, () -> load(query)).single().get("n").asLong();
+  }
+
+  @Test
+  public void testHit() {
+    Assert.assertEquals(1L, get("FETCH PROP ON Host 1 YIELD Host.name AS n"));
+    Assert.assertEquals(1L, get("FETCH PROP ON Host 1 YIELD Host.name AS n"));
+    Assert.assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void testInvalidateByTag() {
+    final var fetch = "FETCH PROP ON Host 1 YIELD Host.name AS n";
+    final var match = "MATCH (v) RETURN count(v) AS n";
+    Assert.assertEquals(1L, get(fetch));
+    Assert.assertEquals(2L, get(match));
+    // a write to another tag only invalidates the query that is not limited to tags
+    cache.invalidate(SPACE, "INSERT VERTEX Person(name) VALUES 1:(\"a\")");
+    Assert.assertEquals(1L, get(fetch));
+    Assert.assertEquals(3L, get(match));
+    cache.invalidate(SPACE, "UPSERT VERTEX ON Host 1 SET name = \"b\"");
+    Assert.assertEquals(4L, get(fetch));
+    // a write to every tag invalidates everything
+    cache.invalidate(SPACE, "DELETE VERTEX 1");
+    Assert.assertEquals(5L, get(fetch));
+    Assert.assertEquals(6L, get(match));
+    // other spaces are not affected
+    cache.invalidate("other_space", "DELETE VERTEX 1");
+    Assert.assertEquals(5L, get(fetch));
+  }
+
+  @Test
+  public void testStatementTags() {
+    Assert.assertEquals(Set.of("Host"), StatementTags.of("LOOKUP ON `Host` YIELD id(vertex)"));
+    Assert.assertEquals(
+        Set.of("t1", "t2"), StatementTags.of("INSERT VERTEX t1(a, b), t2() VALUES 1:(1, 2)"));
+    Assert.assertEquals(
+        Set.of("like", "t1"),
+        StatementTags.of("DELETE EDGE like 1->2; DELETE TAG t1 FROM 1"));
+    Assert.assertNull(StatementTags.of("DELETE TAG * FROM 1"));
+    Assert.assertNull(StatementTags.of("MATCH (n:Host) RETURN n"));
+  }
+}
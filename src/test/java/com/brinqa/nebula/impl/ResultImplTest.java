@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.impl.jfr.ConversionEvent;
+import com.brinqa.nebula.impl.tracing.InMemorySpanExporter;
+import com.brinqa.nebula.impl.tracing.SimpleTracer;
+import com.brinqa.nebula.impl.tracing.Span;
+import com.brinqa.nebula.impl.tracing.TraceContext;
+import com.vesoft.nebula.DataSet;
+import com.vesoft.nebula.ErrorCode;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.util.QueryKeys;
+
+public class ResultImplTest {
+
+  static ResultImpl result(int rows, int parallelThreshold) {
+    final var data = new ArrayList<Row>();
+    for (long i = 0; i < rows; i++) {
+      data.add(new Row(List.of(Value.iVal(i))));
+    }
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    response.data = new DataSet(List.of("id".getBytes()), data);
+    final var summary = new ResultSummaryImpl(0L, new Query("RETURN 1"), "test", null);
+    return new ResultImpl(new ResultSet(response, 0), summary, parallelThreshold);
+  }
+
+  @Test
+  public void testParallelListKeepsOrder() {
+    final var records = result(50_000, 100).list();
+    Assert.assertEquals(50_000, records.size());
+    for (int i = 0; i < records.size(); i++) {
+      Assert.assertEquals(i, records.get(i).get("id").asLong());
+    }
+    Assert.assertEquals(result(1_000, 0).list(), result(1_000, 10).list());
+  }
+
+  @Test
+  public void testSharedQueryKeys() throws Exception {
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    final var rows = new ArrayList<Row>();
+    for (long i = 0; i < 3; i++) {
+      rows.add(new Row(List.of(Value.iVal(i), Value.sVal(("host-" + i).getBytes()))));
+    }
+    response.data = new DataSet(List.of("id".getBytes(), "name".getBytes()), rows);
+    final var summary = new ResultSummaryImpl(0L, new Query("RETURN 1"), "test", null);
+    final var records = new ResultImpl(new ResultSet(response, 0), summary, 0).list();
+
+    final var field = InternalRecord.class.getDeclaredField("queryKeys");
+    field.setAccessible(true);
+    final var queryKeys = (QueryKeys) field.get(records.get(0));
+    for (Record record : records) {
+      Assert.assertSame(queryKeys, field.get(record));
+      Assert.assertSame(queryKeys.keys(), record.keys());
+      Assert.assertEquals((int) queryKeys.keyIndex().get("name"), record.index("name"));
+    }
+    Assert.assertEquals(1, records.get(0).index("name"));
+    Assert.assertEquals("host-2", records.get(2).get("name").asString());
+  }
+
+  @Test
+  public void testLazyStrings() {
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    final var rows = List.of(new Row(List.of(Value.sVal("host-1".getBytes()))));
+    response.data = new DataSet(List.of("name".getBytes()), rows);
+    final var summary = new ResultSummaryImpl(0L, new Query("RETURN 1"), "test", null);
+    // strings are decoded by default, so they equal any string value
+    final var decoded = new ResultImpl(new ResultSet(response, 0), summary).single();
+    Assert.assertEquals(decoded.get("name"), Values.value("host-1"));
+    final var lazy = new ResultImpl(new ResultSet(response, 0), summary, 0, true).single();
+    Assert.assertTrue(lazy.get("name") instanceof Utf8StringValue);
+    Assert.assertEquals("host-1", lazy.get("name").asString());
+  }
+
+  @Test
+  public void testSizedStream() {
+    final var spliterator = result(1_000, 0).stream().spliterator();
+    Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    Assert.assertEquals(1_000, spliterator.getExactSizeIfKnown());
+    final Spliterator<Record> prefix = spliterator.trySplit();
+    Assert.assertNotNull(prefix);
+    Assert.assertEquals(1_000, prefix.estimateSize() + spliterator.estimateSize());
+
+    final var sum = result(10_000, 0).stream().parallel().mapToLong(r -> r.get(0).asLong()).sum();
+    Assert.assertEquals(10_000L * 9_999 / 2, sum);
+  }
+
+  @Test
+  public void testConversionEvent() throws Exception {
+    final var file = Files.createTempFile("conversion", ".jfr");
+    try (var recording = new Recording()) {
+      recording.enable(ConversionEvent.class);
+      recording.start();
+      result(100, 0).list();
+      // iterated and streamed results are recorded once every row is converted
+      final var iterated = result(50, 0);
+      while (iterated.hasNext()) {
+        iterated.next();
+      }
+      Assert.assertEquals(435L, result(30, 0).stream().mapToLong(r -> r.get(0).asLong()).sum());
+      // partially read, recorded when consumed
+      final var partial = result(20, 0);
+      partial.next();
+      partial.consume();
+      recording.stop();
+      recording.dump(file);
+      final var events =
+          RecordingFile.readAllEvents(file).stream()
+              .filter(e -> e.getEventType().getName().equals("com.brinqa.nebula.Conversion"))
+              .collect(Collectors.toList());
+      Assert.assertEquals(4, events.size());
+      Assert.assertEquals(
+          List.of(100L, 50L, 30L, 1L),
+          events.stream().map(e -> e.getLong("rows")).collect(Collectors.toList()));
+      Assert.assertEquals("test", events.get(0).getString("space"));
+      Assert.assertTrue(events.get(0).getLong("bytes") > 0);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testConversionSpan() {
+    final var exporter = new InMemorySpanExporter();
+    final var run = new SimpleTracer(exporter).start("run", Span.NOOP);
+    final ResultImpl result;
+    try (var scope = TraceContext.activate(run)) {
+      result = result(10, 0);
+    }
+    run.end();
+    // converted later on, still a child of the run
+    result.list();
+    final var convert = exporter.spans().get(1);
+    Assert.assertEquals("convert", convert.getName());
+    Assert.assertEquals(exporter.spans().get(0).getSpanId(), convert.getParentId());
+    Assert.assertEquals(10L, convert.getTags().get("rows"));
+
+    // iterated, ends as the last record is read
+    final ResultImpl iterated;
+    try (var scope = TraceContext.activate(run)) {
+      iterated = result(3, 0);
+    }
+    final var exported = new ArrayList<Integer>();
+    iterated.forEachRemaining(record -> exported.add(exporter.spans().size()));
+    Assert.assertEquals(List.of(2, 2, 3), exported);
+    Assert.assertEquals(3L, exporter.spans().get(2).getTags().get("rows"));
+  }
+}
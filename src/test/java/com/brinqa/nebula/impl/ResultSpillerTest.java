@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.DriverConfig;
+import com.vesoft.nebula.DataSet;
+import com.vesoft.nebula.ErrorCode;
+import com.vesoft.nebula.NList;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class ResultSpillerTest {
+  private static final String SPACE = "test_space";
+
+  @Test
+  public void testSpill() {
+    final var rows = new ArrayList<Row>();
+    for (long i = 0; i < 1000; i++) {
+      final var name = new Value(Value.SVAL, ("name-" + i).getBytes(StandardCharsets.UTF_8));
+      final var list = new Value(Value.LVAL, new NList(List.of(new Value(Value.IVAL, i))));
+      rows.add(new Row(List.of(new Value(Value.IVAL, i), name, list)));
+    }
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    response.data = new DataSet(List.of("id".getBytes(), "name".getBytes(), "l".getBytes()), rows);
+    final var resultSet = new ResultSet(response, 0);
+    final var summary = new ResultSummaryImpl(0L, new Query("MATCH (n) RETURN n"), SPACE, null);
+
+    final var metrics = new MetricsImpl();
+    final var config = DriverConfig.defaultConfig(SPACE).toBuilder().spillThresholdBytes(1).build();
+    final var spiller = new ResultSpiller(config, metrics);
+    final var expected = new ResultImpl(resultSet, summary);
+    Assert.assertTrue(spiller.shouldSpill(expected));
+
+    final var spilled = spiller.spill(resultSet, summary, expected.estimatedSize(), 0);
+    Assert.assertEquals(List.of("id", "name", "l"), spilled.keys());
+    final var records = spilled.list();
+    Assert.assertEquals(1000, records.size());
+    final var expectedRecords = expected.list();
+    Assert.assertEquals(expectedRecords, records);
+    // the records of a result share their keys
+    Assert.assertSame(expectedRecords.get(0).keys(), expectedRecords.get(999).keys());
+    Assert.assertSame(records.get(0).keys(), records.get(999).keys());
+    Assert.assertEquals("name-999", records.get(999).get("name").asString());
+    Assert.assertSame(summary, spilled.consume());
+    Assert.assertEquals(expected.estimatedSize(), spilled.receivedBytes());
+    Assert.assertEquals(0L, spilled.share().receivedBytes());
+    Assert.assertEquals(1, metrics.spilledResults());
+    Assert.assertEquals(1000, metrics.spilledRows());
+    Assert.assertTrue(metrics.spilledBytes() > 0);
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import static com.brinqa.nebula.impl.StatementType.OTHER;
+import static com.brinqa.nebula.impl.StatementType.READ;
+import static com.brinqa.nebula.impl.StatementType.SCHEMA;
+import static com.brinqa.nebula.impl.StatementType.WRITE;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StatementTypeTest {
+
+  @Test
+  public void testReads() {
+    Assert.assertEquals(READ, StatementType.of("MATCH (n:Host) RETURN n"));
+    Assert.assertEquals(READ, StatementType.of("  fetch prop on Host 3 YIELD vertex as node;"));
+    Assert.assertEquals(READ, StatementType.of("MATCH (a)-[:A|B]->(b) RETURN b"));
+    final var pipe = "GO FROM 1 OVER like YIELD dst(edge) AS id | GO FROM $-.id OVER like";
+    Assert.assertEquals(READ, StatementType.of(pipe));
+    Assert.assertEquals(READ, StatementType.of("  PROFILE MATCH (n) RETURN n"));
+  }
+
+  @Test
+  public void testWrites() {
+    Assert.assertEquals(WRITE, StatementType.of("INSERT VERTEX Host(name) VALUES 1:(\"a\")"));
+    Assert.assertEquals(WRITE, StatementType.of("MATCH (n) RETURN n; DELETE VERTEX 1"));
+    Assert.assertEquals(WRITE, StatementType.of("upsert vertex on Host 1 set name = \"a\""));
+  }
+
+  @Test
+  public void testSeparatorsInLiterals() {
+    Assert.assertEquals(
+        READ, StatementType.of("MATCH (n:Host {name: \"a; DELETE VERTEX 1\"}) RETURN n"));
+  }
+
+  @Test
+  public void testOthers() {
+    Assert.assertEquals(SCHEMA, StatementType.of("CREATE TAG Host(name string)"));
+    Assert.assertEquals(OTHER, StatementType.of("USE test_space; MATCH (n) RETURN n"));
+    Assert.assertEquals(OTHER, StatementType.of("SHOW TAGS"));
+    Assert.assertEquals(OTHER, StatementType.of(""));
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Values;
+
+public class Utf8StringValueTest {
+
+  static Utf8StringValue value(String s) {
+    return new Utf8StringValue(s.getBytes(UTF_8));
+  }
+
+  @Test
+  public void testStringSemantics() {
+    for (String s : new String[] {"", "host-1", "gr\u00f6\u00dfe", "\ud83d\ude00 smile"}) {
+      final var value = value(s);
+      Assert.assertEquals(s, value.asString());
+      Assert.assertEquals(s.length(), value.size());
+      Assert.assertEquals(s.hashCode(), value.hashCode());
+      Assert.assertEquals(value(s), value);
+      Assert.assertEquals(Values.value(s).asString(), value.asString());
+      Assert.assertEquals(Values.value(s).toString(), value.toString());
+      Assert.assertTrue(value.hasType(Values.value(s).type()));
+    }
+    Assert.assertFalse(value("a").equals(value("b")));
+  }
+
+  @Test
+  public void testEqualsSymmetric() {
+    for (String s : new String[] {"", "host-1", "gr\u00f6\u00dfe"}) {
+      final var value = value(s);
+      final var string = Values.value(s);
+      Assert.assertEquals(string.equals(value), value.equals(string));
+      Assert.assertFalse(string.equals(value));
+    }
+  }
+
+  @Test
+  public void testWrite() throws Exception {
+    final var out = new ByteArrayOutputStream();
+    value("gr\u00f6\u00dfe").writeTo(out);
+    Assert.assertEquals("gr\u00f6\u00dfe", out.toString(UTF_8));
+
+    out.reset();
+    value("a \"b\" \\ c\nd\u0001\u00e9").writeJsonTo(out);
+    Assert.assertEquals("\"a \\\"b\\\" \\\\ c\\nd\\u0001\u00e9\"", out.toString(UTF_8));
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class WriteBufferTest {
+
+  @Test
+  public void testJoinStatements() {
+    final var buffer = new WriteBuffer(2);
+    buffer.add(new Query("INSERT VERTEX Host(name) VALUES 1:($a);", Map.of("a", "x")));
+    buffer.add(new Query("INSERT VERTEX Host(name) VALUES 2:($b)", Map.of("b", "y")));
+    buffer.add(new Query("DELETE VERTEX 3"));
+    final var scripts = buffer.drain();
+    Assert.assertTrue(buffer.isEmpty());
+    Assert.assertEquals(2, scripts.size());
+    Assert.assertEquals(
+        "INSERT VERTEX Host(name) VALUES 1:($a); INSERT VERTEX Host(name) VALUES 2:($b)",
+        scripts.get(0).text());
+    Assert.assertEquals(Map.of("a", "x", "b", "y"), scripts.get(0).parameters().asMap());
+    Assert.assertEquals("DELETE VERTEX 3", scripts.get(1).text());
+  }
+
+  @Test
+  public void testConflictingParameters() {
+    final var buffer = new WriteBuffer(10);
+    buffer.add(new Query("DELETE VERTEX $id", Map.of("id", 1L)));
+    buffer.add(new Query("DELETE VERTEX $id", Map.of("id", 1L)));
+    buffer.add(new Query("DELETE VERTEX $id", Map.of("id", 2L)));
+    final var scripts = buffer.drain();
+    Assert.assertEquals(2, scripts.size());
+    Assert.assertEquals("DELETE VERTEX $id; DELETE VERTEX $id", scripts.get(0).text());
+    Assert.assertEquals(Map.of("id", 2L), scripts.get(1).parameters().asMap());
+  }
+}
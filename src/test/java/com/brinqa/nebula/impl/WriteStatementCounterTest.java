@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl;
+
+import com.brinqa.nebula.impl.stats.WriteCounters;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class WriteStatementCounterTest {
+
+  @Test
+  public void testInsert() {
+    final var vertices =
+        SummaryCountersImpl.of(
+            "INSERT VERTEX IF NOT EXISTS Host(name, zone), Asset() "
+                + "VALUES 1:(\"a, b\", f(1, 2)), \"x(\":(\"c\", NULL), 3:(\"\", \"\");");
+    Assert.assertEquals(3, vertices.nodesCreated());
+    Assert.assertEquals(6, vertices.labelsAdded());
+    Assert.assertEquals(6, vertices.propertiesSet());
+    Assert.assertTrue(vertices.containsUpdates());
+
+    final var edges =
+        SummaryCountersImpl.of("insert edge link(weight) values 0->1@2:(0.5), 1->2:(1.0)");
+    Assert.assertEquals(2, edges.relationshipsCreated());
+    Assert.assertEquals(2, edges.propertiesSet());
+    Assert.assertEquals(0, edges.nodesCreated());
+  }
+
+  @Test
+  public void testUpdateAndDelete() {
+    final var update =
+        SummaryCountersImpl.of(
+            "UPSERT VERTEX ON Host \"a\" SET name = \"b, c\", age = age + 1 "
+                + "WHEN age > 1 YIELD age");
+    Assert.assertEquals(2, update.propertiesSet());
+    Assert.assertEquals(0, update.nodesCreated());
+
+    final var script =
+        SummaryCountersImpl.of(
+            "DELETE VERTEX 1, 2, 3 WITH EDGE; DELETE EDGE link 0->1@2, 1->2; "
+                + "DELETE TAG Host, Asset FROM 4, 5");
+    Assert.assertEquals(3, script.nodesDeleted());
+    Assert.assertEquals(2, script.relationshipsDeleted());
+    Assert.assertEquals(4, script.labelsRemoved());
+
+    // ids of a pipe are not known
+    final var piped =
+        SummaryCountersImpl.of("GO FROM 1 OVER link YIELD dst(edge) AS id | DELETE VERTEX $-.id");
+    Assert.assertEquals(0, piped.nodesDeleted());
+  }
+
+  @Test
+  public void testReads() {
+    Assert.assertSame(SummaryCountersImpl.EMPTY, SummaryCountersImpl.of("MATCH (v) RETURN v"));
+    final var summary = new ResultSummaryImpl(0L, new Query("FETCH PROP ON Host 1"), "test", null);
+    Assert.assertFalse(summary.counters().containsUpdates());
+  }
+
+  @Test
+  public void testSummaryCounters() {
+    final var query = new Query("INSERT VERTEX Host(name) VALUES 1:(\"a\")");
+    // e.g. a buffered write, not sent yet
+    final var unsent = new ResultSummaryImpl(0L, query, "test", null);
+    Assert.assertSame(SummaryCountersImpl.EMPTY, unsent.counters());
+    final var counters = SummaryCountersImpl.of(query.text());
+    final var sent = new ResultSummaryImpl(0L, query, "test", null, null, counters);
+    Assert.assertSame(counters, sent.counters());
+    Assert.assertEquals(1, sent.counters().nodesCreated());
+  }
+
+  @Test
+  public void testWriteCounters() {
+    final var counters = new WriteCounters();
+    counters.record(
+        SummaryCountersImpl.of("INSERT VERTEX Host(name) VALUES 1:(\"a\"), 2:(\"b\")"));
+    counters.record(SummaryCountersImpl.of("INSERT EDGE link() VALUES 1->2:()"));
+    Assert.assertEquals(2, counters.statements());
+    Assert.assertEquals(3, counters.entitiesWritten());
+    Assert.assertEquals(2, counters.propertiesSet());
+    counters.reset();
+    Assert.assertEquals(0, counters.entitiesWritten());
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.arrow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.vesoft.nebula.DataSet;
+import com.vesoft.nebula.Date;
+import com.vesoft.nebula.ErrorCode;
+import com.vesoft.nebula.NullType;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArrowResultSinkTest {
+
+  static ResultSet resultSet(int count) {
+    final var rows = new ArrayList<Row>();
+    for (int i = 0; i < count; i++) {
+      rows.add(
+          new Row(
+              List.of(
+                  Value.iVal(i),
+                  i % 5 == 0 ? Value.nVal(NullType.__NULL__) : Value.sVal(("name-" + i).getBytes()),
+                  i % 2 == 0 ? Value.iVal(i) : Value.fVal(i + 0.5),
+                  Value.dVal(new Date((short) 2020, (byte) 1, (byte) (1 + i))))));
+    }
+    final var names = new ArrayList<byte[]>();
+    for (String name : List.of("id", "name", "score", "born")) {
+      names.add(name.getBytes(UTF_8));
+    }
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    response.data = new DataSet(names, rows);
+    return new ResultSet(response, 0);
+  }
+
+  @Test
+  public void testStream() throws Exception {
+    try (var allocator = new RootAllocator()) {
+      final var out = new ByteArrayOutputStream();
+      try (var writer = ArrowIpcWriter.stream(Channels.newChannel(out));
+          var sink = new ArrowResultSink(allocator, 10, writer)) {
+        sink.accept(resultSet(25));
+        Assert.assertEquals(25, sink.rows());
+      }
+
+      final var in = new ByteArrayInputStream(out.toByteArray());
+      try (var reader = new ArrowStreamReader(in, allocator)) {
+        final var root = reader.getVectorSchemaRoot();
+        final var sizes = new ArrayList<Integer>();
+        while (reader.loadNextBatch()) {
+          if (sizes.isEmpty()) {
+            Assert.assertEquals(3L, ((BigIntVector) root.getVector("id")).get(3));
+            final var name = (VarCharVector) root.getVector("name");
+            Assert.assertTrue(name.isNull(0));
+            Assert.assertEquals("name-1", new String(name.get(1), UTF_8));
+            final var score = (Float8Vector) root.getVector("score");
+            Assert.assertEquals(2.0, score.get(2), 0.0);
+            Assert.assertEquals(3.5, score.get(3), 0.0);
+            final var born = (DateDayVector) root.getVector("born");
+            Assert.assertEquals(LocalDate.of(2020, 1, 2).toEpochDay(), born.get(1));
+          }
+          sizes.add(root.getRowCount());
+        }
+        Assert.assertEquals(List.of(10, 10, 5), sizes);
+      }
+    }
+  }
+
+  @Test
+  public void testEmpty() throws Exception {
+    try (var allocator = new RootAllocator()) {
+      final var out = new ByteArrayOutputStream();
+      try (var writer = ArrowIpcWriter.stream(Channels.newChannel(out));
+          var sink = new ArrowResultSink(allocator, 10, writer)) {
+        sink.accept(resultSet(0));
+      }
+      final var in = new ByteArrayInputStream(out.toByteArray());
+      try (var reader = new ArrowStreamReader(in, allocator)) {
+        Assert.assertEquals(4, reader.getVectorSchemaRoot().getSchema().getFields().size());
+        Assert.assertTrue(reader.loadNextBatch());
+        Assert.assertEquals(0, reader.getVectorSchemaRoot().getRowCount());
+        Assert.assertFalse(reader.loadNextBatch());
+      }
+    }
+  }
+
+  @Test
+  public void testSchemaFixedByFirstResult() {
+    try (var allocator = new RootAllocator();
+        var sink = new ArrowResultSink(allocator, 10, root -> {})) {
+      // only an integer score and a null name in the first result set
+      sink.accept(resultSet(1));
+      try {
+        sink.accept(resultSet(2));
+        Assert.fail("a float does not fit the integer column");
+      } catch (IllegalArgumentException expected) {
+        Assert.assertTrue(expected.getMessage().startsWith("Column score"));
+      }
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.async;
+
+import com.brinqa.nebula.impl.MaterializedResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.value.NodeValue;
+
+public class VertexLoaderTest {
+  private static final Pattern IDS = Pattern.compile("FETCH PROP ON Host (.*) YIELD .*");
+
+  private final List<String> queries = new ArrayList<>();
+
+  synchronized Result fetch(Query query) {
+    queries.add(query.text());
+    final var matcher = IDS.matcher(query.text());
+    Assert.assertTrue(query.text(), matcher.matches());
+    final var keys = List.of("vid", "v");
+    final var records = new ArrayList<Record>();
+    for (var id : matcher.group(1).split(", ")) {
+      final var vid = Long.parseLong(id);
+      // odd ids do not exist
+      if (vid % 2 == 0) {
+        final var node = new InternalNode(vid, List.of("Host"), Map.of("name", Values.value(id)));
+        records.add(new InternalRecord(keys, new Value[] {Values.value(vid), new NodeValue(node)}));
+      }
+    }
+    return new MaterializedResult(keys, records, null);
+  }
+
+  @Test
+  public void testBatchesWithinWindow() throws Exception {
+    final var loader = new VertexLoader("Host", this::fetch, 100, 50L, Runnable::run);
+    final var a = loader.load(2).toCompletableFuture();
+    final var b = loader.load(3L).toCompletableFuture();
+    final var c = loader.load(2L).toCompletableFuture();
+    Assert.assertEquals("2", a.get(10, TimeUnit.SECONDS).get("name").asString());
+    Assert.assertNull(b.get(10, TimeUnit.SECONDS));
+    Assert.assertSame(a, c);
+    final var expected = "FETCH PROP ON Host 2, 3 YIELD id(vertex) AS vid, vertex AS v";
+    Assert.assertEquals(List.of(expected), queries);
+    // memoised
+    Assert.assertEquals(2L, loader.load(2).toCompletableFuture().join().id());
+    Assert.assertEquals(1, queries.size());
+  }
+
+  @Test
+  public void testBatchSizeLimit() {
+    final var loader = new VertexLoader("Host", this::fetch, 2, 60_000L, Runnable::run);
+    final var nodes = loader.loadMany(Arrays.asList(4, 5, 6, 8)).toCompletableFuture().join();
+    Assert.assertEquals(4, nodes.size());
+    Assert.assertNull(nodes.get(1));
+    Assert.assertEquals(8L, nodes.get(3).id());
+    Assert.assertEquals(2, queries.size());
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import com.brinqa.nebula.DriverConfig;
+import com.brinqa.nebula.impl.MaterializedResult;
+import com.brinqa.nebula.impl.schema.PropertyType;
+import com.brinqa.nebula.impl.schema.SpaceSchema;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Result;
+
+public class ImportPipelineTest {
+  private static final Pattern ROW = Pattern.compile("(?:VALUES |, )[0-9>\\-@]+:\\(");
+  private static final DriverConfig CONFIG =
+      DriverConfig.defaultConfig("test_space").toBuilder()
+          .batchMaxRows(10)
+          .importChunkBytes(256)
+          .importParallelism(3)
+          .build();
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(3);
+  private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  Result run(Query query) {
+    statements.add(query.text());
+    return new MaterializedResult(List.of(), List.of(), null);
+  }
+
+  ImportPipeline pipeline(ImportJob job) {
+    return new ImportPipeline(CONFIG, job, SpaceSchema.EMPTY, this::run, executor);
+  }
+
+  long rows() {
+    return statements.stream().mapToLong(text -> ROW.matcher(text).results().count()).sum();
+  }
+
+  @Test
+  public void testCsvVertices() throws Exception {
+    final var file = Files.createTempFile("import", ".csv");
+    final var checkpoint = file.resolveSibling(file.getFileName() + ".checkpoint");
+    try {
+      final var csv = new StringBuilder("id,name,zone\r\n");
+      for (int i = 0; i < 100; i++) {
+        csv.append(i).append(",\"host, ").append(i).append("\",").append(i % 2 == 0 ? "a" : "");
+        csv.append("\r\n");
+      }
+      Files.writeString(file, csv);
+      final var job =
+          ImportJob.builder()
+              .file(file)
+              .name("Host")
+              .integerIds(true)
+              .columnType("name", PropertyType.STRING)
+              .columnType("zone", PropertyType.STRING)
+              .checkpoint(checkpoint)
+              .build();
+      final var stats = pipeline(job).run();
+      Assert.assertEquals(100, stats.getRows());
+      Assert.assertEquals(100, rows());
+      final var prefix = "INSERT VERTEX Host(name, zone) VALUES ";
+      Assert.assertTrue(statements.stream().allMatch(text -> text.startsWith(prefix)));
+      Assert.assertTrue(
+          statements.stream().anyMatch(text -> text.contains("1:(\"host, 1\", NULL)")));
+      Assert.assertEquals(Long.toString(Files.size(file)), Files.readString(checkpoint));
+
+      // a completed import resumes after the last row
+      statements.clear();
+      Assert.assertEquals(0, pipeline(job).run().getRows());
+      Assert.assertTrue(statements.isEmpty());
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(checkpoint);
+    }
+  }
+
+  @Test
+  public void testCsvWithoutSchema() throws Exception {
+    final var file = Files.createTempFile("import", ".csv");
+    try {
+      Files.writeString(file, "src,dst,weight,count\n1,2,0.5,3\n");
+      final var job =
+          ImportJob.builder()
+              .file(file)
+              .kind(ImportJob.Kind.EDGE)
+              .name("link")
+              .integerIds(true)
+              .columnType("weight", PropertyType.DOUBLE)
+              .build();
+      try {
+        pipeline(job).run();
+        Assert.fail("the type of count is unknown");
+      } catch (IllegalArgumentException expected) {
+        Assert.assertTrue(statements.isEmpty());
+      }
+
+      final var typed = job.toBuilder().columnType("count", PropertyType.INT).build();
+      Assert.assertEquals(1, pipeline(typed).run().getRows());
+      Assert.assertEquals(
+          List.of("INSERT EDGE link(weight, count) VALUES 1->2@0:(0.5, 3)"), statements);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testJsonEdges() throws Exception {
+    final var file = Files.createTempFile("import", ".ndjson");
+    try {
+      final var json = new StringBuilder();
+      for (int i = 0; i < 50; i++) {
+        json.append("{\"src\": ").append(i).append(", \"dst\": ").append(i + 1);
+        json.append(", \"rank\": 2, \"weight\": 0.5, \"tags\": [\"x\"]}\n");
+      }
+      Files.writeString(file, json);
+      final var job =
+          ImportJob.builder()
+              .file(file)
+              .format(ImportJob.Format.NDJSON)
+              .kind(ImportJob.Kind.EDGE)
+              .name("link")
+              .rankColumn("rank")
+              .property("weight")
+              .build();
+      Assert.assertEquals(50, pipeline(job).run().getRows());
+      Assert.assertEquals(50, rows());
+      final var prefix = "INSERT EDGE link(weight) VALUES ";
+      Assert.assertTrue(statements.stream().allMatch(text -> text.startsWith(prefix)));
+      Assert.assertTrue(statements.stream().anyMatch(text -> text.contains("0->1@2:(0.5)")));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testParsers() {
+    Assert.assertEquals(
+        Arrays.asList("a", null, "", "b \"c\", d"),
+        new CsvLineParser(',').parse("a,,\"\",\"b \"\"c\"\", d\""));
+    final var values =
+        new JsonLineParser()
+            .parse("{\"a\": -1, \"b\": [true, null], \"c\": {\"d\": \"\\u0041\\n\"}}");
+    Assert.assertEquals(-1L, values.get("a"));
+    Assert.assertEquals(Arrays.asList(true, null), values.get("b"));
+    Assert.assertEquals(Map.of("d", "A\n"), values.get("c"));
+  }
+}
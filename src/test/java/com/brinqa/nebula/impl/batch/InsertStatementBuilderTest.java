@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.batch;
+
+import com.brinqa.nebula.impl.schema.ElementSchema;
+import com.brinqa.nebula.impl.schema.PropertyDefinition;
+import com.brinqa.nebula.impl.schema.PropertyType;
+import com.brinqa.nebula.impl.schema.SpaceSchema;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InsertStatementBuilderTest {
+
+  static VertexRow host(long vid, String name) {
+    return VertexRow.builder().tag("Host").vid(vid).property("name", name).build();
+  }
+
+  @Test
+  public void testCoalesceVertices() {
+    final var builder = new InsertStatementBuilder(3, 1024);
+    Assert.assertTrue(builder.add(host(1L, "a")).isEmpty());
+    Assert.assertTrue(builder.add(host(2L, "b")).isEmpty());
+    final var full = builder.add(host(3L, "c"));
+    Assert.assertEquals(1, full.size());
+    Assert.assertEquals(3, full.get(0).getRows());
+    Assert.assertEquals(
+        "INSERT VERTEX Host(name) VALUES 1:(\"a\"), 2:(\"b\"), 3:(\"c\")", full.get(0).getText());
+    Assert.assertTrue(builder.isEmpty());
+  }
+
+  @Test
+  public void testGroupByTagAndProperties() {
+    final var builder = new InsertStatementBuilder(10, 1024);
+    builder.add(host(1L, "a"));
+    builder.add(VertexRow.builder().tag("Host").vid(2L).build());
+    builder.add(
+        EdgeRow.builder().edgeType("like").srcId("x").dstId("y").property("likeness", 1.5).build());
+    final List<InsertStatement> drained = builder.drain();
+    Assert.assertEquals(3, drained.size());
+    Assert.assertEquals("INSERT VERTEX Host(name) VALUES 1:(\"a\")", drained.get(0).getText());
+    Assert.assertEquals("INSERT VERTEX Host() VALUES 2:()", drained.get(1).getText());
+    Assert.assertEquals(
+        "INSERT EDGE like(likeness) VALUES \"x\"->\"y\"@0:(1.5)", drained.get(2).getText());
+    Assert.assertTrue(builder.drain().isEmpty());
+  }
+
+  @Test
+  public void testByteBudget() {
+    final var header = "INSERT VERTEX Host(name) VALUES ";
+    final var builder = new InsertStatementBuilder(100, header.length() + 20);
+    Assert.assertTrue(builder.add(host(1L, "aaaaaaaaaa")).isEmpty());
+    final var full = builder.add(host(2L, "bbbbbbbbbb"));
+    Assert.assertEquals(1, full.size());
+    Assert.assertEquals(header + "1:(\"aaaaaaaaaa\")", full.get(0).getText());
+    Assert.assertEquals(header + "2:(\"bbbbbbbbbb\")", builder.drain().get(0).getText());
+  }
+
+  @Test
+  public void testSchemaTypedValues() {
+    final var host =
+        new ElementSchema(
+            "Host",
+            List.of(
+                new PropertyDefinition("name", PropertyType.STRING, true),
+                new PropertyDefinition("cores", PropertyType.INT, true),
+                new PropertyDefinition("born", PropertyType.DATE, true)));
+    final var schema = new SpaceSchema(PropertyType.INT, Map.of("Host", host), Map.of());
+    final var builder = new InsertStatementBuilder(10, 1024, schema);
+    builder.add(
+        VertexRow.builder()
+            .tag("Host")
+            .vid("7")
+            .property("born", "2020-01-02")
+            .property("cores", "8")
+            .property("name", 42)
+            .build());
+    Assert.assertEquals(
+        "INSERT VERTEX Host(name, cores, born) VALUES 7:(\"42\", 8, date(\"2020-01-02\"))",
+        builder.drain().get(0).getText());
+  }
+}
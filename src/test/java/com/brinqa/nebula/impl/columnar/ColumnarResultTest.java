@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.columnar;
+
+import com.vesoft.nebula.DataSet;
+import com.vesoft.nebula.ErrorCode;
+import com.vesoft.nebula.NList;
+import com.vesoft.nebula.NullType;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Values;
+
+public class ColumnarResultTest {
+
+  @Test
+  public void testDecode() {
+    final var rows = new ArrayList<Row>();
+    for (long i = 0; i < 100; i++) {
+      final var nil = Value.nVal(NullType.__NULL__);
+      final var zone = ("zone-" + (i % 3)).getBytes(StandardCharsets.UTF_8);
+      rows.add(
+          new Row(
+              List.of(
+                  Value.iVal(i),
+                  i % 10 == 0 ? nil : Value.sVal(zone),
+                  i % 2 == 0 ? Value.iVal(i) : Value.fVal(i + 0.5),
+                  Value.bVal(i % 2 == 0),
+                  i % 2 == 0 ? Value.iVal(i) : Value.lVal(new NList(List.of(Value.iVal(i)))))));
+    }
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    final var names = new ArrayList<byte[]>();
+    for (String name : List.of("id", "zone", "x", "even", "m")) {
+      names.add(name.getBytes(StandardCharsets.UTF_8));
+    }
+    response.data = new DataSet(names, rows);
+    final var columnar = ColumnarResult.decode(new ResultSet(response, 0));
+    Assert.assertEquals(100, columnar.rowCount());
+    Assert.assertEquals(List.of("id", "zone", "x", "even", "m"), columnar.keys());
+
+    final var id = columnar.longColumn("id");
+    Assert.assertEquals(99L, id.getLong(99));
+    Assert.assertEquals(0, id.nullCount());
+
+    final var zone = columnar.stringColumn("zone");
+    Assert.assertEquals(3, zone.dictionary().length);
+    Assert.assertEquals(10, zone.nullCount());
+    Assert.assertTrue(zone.isNull(10));
+    Assert.assertNull(zone.getString(10));
+    Assert.assertEquals(-1, zone.code(10));
+    Assert.assertEquals("zone-2", zone.getString(11));
+    Assert.assertEquals(zone.code(2), zone.code(11));
+    Assert.assertEquals(Values.NULL, zone.get(20));
+
+    final var x = columnar.doubleColumn("x");
+    Assert.assertEquals(2.0, x.getDouble(2), 0.0);
+    Assert.assertEquals(3.5, x.getDouble(3), 0.0);
+
+    Assert.assertTrue(columnar.booleanColumn("even").getBoolean(4));
+    Assert.assertFalse(columnar.booleanColumn("even").getBoolean(5));
+
+    final var mixed = columnar.column("m");
+    Assert.assertTrue(mixed instanceof ValueColumn);
+    Assert.assertEquals(4L, mixed.get(4).asLong());
+    Assert.assertEquals(List.of(5L), mixed.get(5).asList());
+  }
+}
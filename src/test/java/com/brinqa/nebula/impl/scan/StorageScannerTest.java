@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.scan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+public class StorageScannerTest {
+  private static final List<String> KEYS = List.of("_vid");
+
+  /** Partition n holds 10 * n rows in batches of 3. */
+  static StorageScanner.PartitionReader reader(int part) {
+    return new StorageScanner.PartitionReader() {
+      int next = 0;
+
+      @Override
+      public boolean hasNext() {
+        return next < part * 10;
+      }
+
+      @Override
+      public List<Record> next() {
+        final var batch = new ArrayList<Record>();
+        for (int i = 0; i < 3 && next < part * 10; i++, next++) {
+          final var vid = Values.value(part * 1000L + next);
+          batch.add(new InternalRecord(KEYS, new Value[] {vid}));
+        }
+        return batch;
+      }
+    };
+  }
+
+  @Test
+  public void testScan() {
+    final var completed = new ConcurrentHashMap<Integer, Long>();
+    final var listener =
+        new ScanProgressListener() {
+          @Override
+          public void onCompleted(int partition, long rows) {
+            completed.put(partition, rows);
+          }
+        };
+    final var request =
+        ScanRequest.builder().name("Host").completedPartition(2).listener(listener).build();
+    final var executor = Executors.newFixedThreadPool(4);
+    try {
+      final var scanner = new StorageScanner(executor, 2);
+      final var partitions = List.of(1, 2, 3, 4);
+      final var records =
+          scanner.scan(partitions, request, StorageScannerTest::reader).toList().blockingGet();
+      Assert.assertEquals(10 + 30 + 40, records.size());
+      final var vids =
+          records.stream().map(r -> r.get("_vid").asLong()).collect(Collectors.toSet());
+      Assert.assertEquals(records.size(), vids.size());
+      Assert.assertFalse(vids.contains(2000L));
+      Assert.assertEquals(Map.of(1, 10L, 3, 30L, 4, 40L), completed);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCancelMidPartition() {
+    final var batches = new ArrayList<Long>();
+    final var completed = new ArrayList<Integer>();
+    final var listener =
+        new ScanProgressListener() {
+          @Override
+          public void onBatch(int partition, long rows) {
+            batches.add(rows);
+          }
+
+          @Override
+          public void onCompleted(int partition, long rows) {
+            completed.add(partition);
+          }
+        };
+    final var scanner = new StorageScanner(Runnable::run, 1);
+    // the partition is read ahead of the 4 rows taken
+    final var records =
+        scanner
+            .scanPartition(3, listener, StorageScannerTest::reader)
+            .take(4)
+            .toList()
+            .blockingGet();
+    Assert.assertEquals(4, records.size());
+    // only the first batch reached the subscriber whole
+    Assert.assertEquals(List.of(3L), batches);
+    Assert.assertEquals(List.of(), completed);
+  }
+}
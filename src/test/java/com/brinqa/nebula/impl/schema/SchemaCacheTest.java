@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.schema;
+
+import com.brinqa.nebula.DriverConfig;
+import com.brinqa.nebula.impl.MaterializedResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+public class SchemaCacheTest {
+
+  static final Map<String, List<List<String>>> ROWS =
+      Map.of(
+          "DESCRIBE SPACE `test`",
+          List.of(List.of("Name", "Vid Type"), List.of("test", "INT64")),
+          "SHOW TAGS",
+          List.of(List.of("Name"), List.of("Host")),
+          "SHOW EDGES",
+          List.of(List.of("Name"), List.of("link")),
+          "DESCRIBE TAG `Host`",
+          List.of(
+              List.of("Field", "Type", "Null"),
+              List.of("name", "fixed_string(32)", "NO"),
+              List.of("cores", "int32", "YES")),
+          "DESCRIBE EDGE `link`",
+          List.of(List.of("Field", "Type", "Null"), List.of("since", "datetime", "YES")));
+
+  final AtomicInteger queries = new AtomicInteger();
+
+  Result run(Query query) {
+    queries.incrementAndGet();
+    final var rows = ROWS.get(query.text());
+    final var keys = rows.get(0);
+    final var records = new ArrayList<Record>();
+    for (List<String> row : rows.subList(1, rows.size())) {
+      records.add(new InternalRecord(keys, row.stream().map(Values::value).toArray(Value[]::new)));
+    }
+    return new MaterializedResult(keys, records, null);
+  }
+
+  @Test
+  public void testLoad() {
+    final var cache = new SchemaCache(DriverConfig.defaultConfig("test"));
+    final var schema = cache.get("test", this::run);
+    Assert.assertEquals(PropertyType.INT, schema.getVidType());
+    Assert.assertEquals(
+        new PropertyDefinition("name", PropertyType.STRING, false), schema.tag("Host").get("name"));
+    Assert.assertEquals(PropertyType.INT, schema.tag("Host").get("cores").getType());
+    Assert.assertEquals(PropertyType.DATETIME, schema.edge("link").get("since").getType());
+    Assert.assertNull(schema.tag("link"));
+
+    // cached until invalidated
+    final var loaded = queries.get();
+    Assert.assertSame(schema, cache.get("test", this::run));
+    Assert.assertEquals(loaded, queries.get());
+    cache.invalidate("test");
+    Assert.assertNotSame(schema, cache.get("test", this::run));
+    Assert.assertEquals(2 * loaded, queries.get());
+  }
+
+  @Test
+  public void testDisabledOrFailed() {
+    final var config = DriverConfig.defaultConfig("test").toBuilder().schemaCacheTtl(0).build();
+    Assert.assertSame(SpaceSchema.EMPTY, new SchemaCache(config).get("test", this::run));
+    Assert.assertEquals(0, queries.get());
+    final var cache = new SchemaCache(DriverConfig.defaultConfig("test"));
+    Assert.assertSame(SpaceSchema.EMPTY, cache.get("missing", this::run));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueryStatsRegistryTest {
+
+  @Test
+  public void testFingerprint() {
+    Assert.assertEquals(
+        "FETCH PROP ON Host ?, ... YIELD vertex AS v",
+        QueryFingerprint.of("FETCH PROP ON Host 1, 2,\n  3 YIELD vertex AS v"));
+    Assert.assertEquals(
+        QueryFingerprint.of("MATCH (v:Host) WHERE v.Host.name == \"a\" RETURN v LIMIT 10"),
+        QueryFingerprint.of("MATCH (v:Host)  WHERE v.Host.name == 'b\\'c' RETURN v LIMIT 5"));
+    Assert.assertEquals(
+        "GO FROM ? OVER `edge 1` YIELD dst(edge), v2",
+        QueryFingerprint.of("GO FROM 7 OVER `edge 1` YIELD dst(edge), v2"));
+    Assert.assertEquals(
+        "INSERT VERTEX t(a) VALUES ?:(?, ...)",
+        QueryFingerprint.of("INSERT VERTEX t(a) VALUES 1:(2.5, 'x')"));
+  }
+
+  @Test
+  public void testRecord() {
+    final var registry = new QueryStatsRegistry(10);
+    for (int i = 1; i <= 100; i++) {
+      registry.record("FETCH PROP ON Host " + i, i * 1_000_000L, 1, 10);
+    }
+    registry.recordError("FETCH PROP ON Host 0", 5_000_000L);
+    registry.record("YIELD 1", 1_000L, 1, 0);
+
+    final var top = registry.top(1);
+    Assert.assertEquals(1, top.size());
+    final var stats = top.get(0);
+    Assert.assertEquals("FETCH PROP ON Host ?", stats.getFingerprint());
+    Assert.assertEquals(101, stats.getCalls());
+    Assert.assertEquals(1, stats.getErrors());
+    Assert.assertEquals(5055, stats.totalTime(TimeUnit.MILLISECONDS));
+    Assert.assertEquals(1_000_000L, stats.getMinNanos());
+    Assert.assertEquals(100_000_000L, stats.getMaxNanos());
+    // within the 25% wide bucket of the 99th call
+    Assert.assertTrue(stats.getP99Nanos() >= 99_000_000L);
+    Assert.assertTrue(stats.getP99Nanos() <= 100_000_000L);
+    Assert.assertEquals(100, stats.getRows());
+    Assert.assertEquals(1000, stats.getBytes());
+    Assert.assertEquals(2, registry.snapshot().size());
+
+    registry.reset();
+    Assert.assertTrue(registry.snapshot().isEmpty());
+  }
+
+  @Test
+  public void testEviction() {
+    final var registry = new QueryStatsRegistry(20);
+    for (int i = 0; i < 20; i++) {
+      registry.record("YIELD " + "x".repeat(i), 1L, 0, 0);
+    }
+    registry.record("YIELD ", 1L, 0, 0);
+    registry.record("YIELD y", 1L, 0, 0);
+    final var snapshot = registry.snapshot();
+    Assert.assertEquals(20, snapshot.size());
+    // the most called shape is kept
+    Assert.assertTrue(snapshot.stream().anyMatch(s -> s.getFingerprint().equals("YIELD")));
+    Assert.assertTrue(snapshot.stream().anyMatch(s -> s.getFingerprint().equals("YIELD y")));
+  }
+
+  @Test
+  public void testDisabled() {
+    final var registry = new QueryStatsRegistry(0);
+    registry.record("YIELD 1", 1L, 1, 1);
+    Assert.assertFalse(registry.isEnabled());
+    Assert.assertTrue(registry.snapshot().isEmpty());
+  }
+
+  @Test
+  public void testBuckets() {
+    long previous = -1;
+    for (long nanos : new long[] {0, 15, 16, 17, 20, 1000, 123_456_789L, Long.MAX_VALUE}) {
+      final int bucket = QueryStatsRegistry.Accumulator.bucket(nanos);
+      Assert.assertTrue(bucket < QueryStatsRegistry.Accumulator.BUCKETS);
+      Assert.assertTrue(bucket >= previous);
+      Assert.assertTrue(QueryStatsRegistry.Accumulator.upperBound(bucket) >= nanos);
+      previous = bucket;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.stats;
+
+import com.brinqa.nebula.DriverConfig;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class SlowQueryLogTest {
+  private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  public void testLog() throws Exception {
+    final var config =
+        DriverConfig.defaultConfig("test_space").toBuilder()
+            .slowQueryThreshold(100)
+            .slowQueryServerThreshold(50)
+            .build();
+    final BlockingQueue<SlowQueryEntry> entries = new ArrayBlockingQueue<>(10);
+    try (var log = new SlowQueryLog(config, entries::add)) {
+      Assert.assertTrue(log.isEnabled());
+      Assert.assertFalse(log.shouldLog(99 * MS, 49 * MS));
+      Assert.assertTrue(log.shouldLog(100 * MS, 0));
+      Assert.assertTrue(log.shouldLog(10 * MS, 50 * MS));
+
+      final var query =
+          new Query(
+              "FETCH PROP ON Host $ids WHERE Host.name == 'a'",
+              Map.of("ids", List.of(1, 2, 3), "name", "secret"));
+      log.log(
+          SlowQueryEntry.builder()
+              .space("test_space")
+              .host("localhost:9669")
+              .totalNanos(120 * MS)
+              .serverNanos(80 * MS)
+              .rows(3)
+              .phase("connection", MS)
+              .phase("execute", 119 * MS),
+          query);
+      final var entry = entries.poll(10, TimeUnit.SECONDS);
+      Assert.assertNotNull(entry);
+      Assert.assertEquals("FETCH PROP ON Host $ids WHERE Host.name == ?", entry.getFingerprint());
+      Assert.assertEquals("LIST OF ANY?(3)", entry.getParameters().get("ids"));
+      Assert.assertEquals("STRING", entry.getParameters().get("name"));
+      Assert.assertEquals(
+          List.of("connection", "execute"), List.copyOf(entry.getPhases().keySet()));
+      final var text = entry.toString();
+      Assert.assertTrue(text, text.startsWith("Slow query 120.000ms space=test_space"));
+      Assert.assertFalse(text, text.contains("secret"));
+      Assert.assertFalse(text, text.contains("error="));
+
+      log.log(
+          SlowQueryEntry.builder()
+              .space("test_space")
+              .totalNanos(150 * MS)
+              .phase("connection", 150 * MS)
+              .error("ClientException: timed out"),
+          query);
+      final var failed = entries.poll(10, TimeUnit.SECONDS);
+      Assert.assertNotNull(failed);
+      Assert.assertEquals("ClientException: timed out", failed.getError());
+      Assert.assertTrue(failed.toString(), failed.toString().contains(" error=ClientException"));
+    }
+  }
+
+  @Test
+  public void testDisabled() {
+    final var config = DriverConfig.defaultConfig("test_space");
+    try (var log = new SlowQueryLog(config, entry -> Assert.fail())) {
+      Assert.assertFalse(log.isEnabled());
+      Assert.assertFalse(log.shouldLog(Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+    final var sampledOut =
+        config.toBuilder().slowQueryThreshold(1).slowQuerySampleRate(0.0).build();
+    try (var log = new SlowQueryLog(sampledOut, entry -> Assert.fail())) {
+      Assert.assertFalse(log.shouldLog(Long.MAX_VALUE, 0));
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.tracing;
+
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimpleTracerTest {
+
+  @Test
+  public void testPropagation() throws Exception {
+    final var exporter = new InMemorySpanExporter();
+    final var tracer = new SimpleTracer(exporter);
+    final var run = tracer.start("run", TraceContext.current());
+    try (var scope = TraceContext.activate(run)) {
+      Assert.assertSame(run, TraceContext.current());
+      TraceContext.current().child("borrow").tag("host", "localhost:9669").end();
+      // the span follows the work to another thread
+      CompletableFuture.supplyAsync(
+              TraceContext.wrap(
+                  () -> {
+                    TraceContext.current().child("execute").tag("rows", 3).end();
+                    return null;
+                  }))
+          .get();
+      run.error(new IllegalStateException("failed"));
+    } finally {
+      run.end();
+    }
+    Assert.assertSame(Span.NOOP, TraceContext.current());
+
+    final var spans = exporter.spans();
+    Assert.assertEquals(3, spans.size());
+    final var root = spans.get(2);
+    Assert.assertEquals("run", root.getName());
+    Assert.assertEquals(0L, root.getParentId());
+    Assert.assertEquals("failed", root.getError());
+    Assert.assertEquals("borrow", spans.get(0).getName());
+    Assert.assertEquals("localhost:9669", spans.get(0).getTags().get("host"));
+    Assert.assertEquals("execute", spans.get(1).getName());
+    Assert.assertEquals(3L, spans.get(1).getTags().get("rows"));
+    for (var span : spans.subList(0, 2)) {
+      Assert.assertEquals(root.getTraceId(), span.getTraceId());
+      Assert.assertEquals(root.getSpanId(), span.getParentId());
+      Assert.assertTrue(span.getDurationNanos() <= root.getDurationNanos());
+    }
+
+    // a run within a run is its child
+    final var outer = tracer.start("outer", Span.NOOP);
+    final var inner = tracer.start("run", outer);
+    inner.end();
+    outer.end();
+    final var nested = exporter.spans();
+    Assert.assertEquals(nested.get(4).getSpanId(), nested.get(3).getParentId());
+  }
+
+  @Test
+  public void testNoop() {
+    final var span = Tracer.NOOP.start("run", TraceContext.current());
+    Assert.assertSame(Span.NOOP, span);
+    Assert.assertFalse(span.isRecording());
+    Assert.assertSame(span, span.child("execute").tag("rows", 1));
+    try (var scope = TraceContext.activate(span)) {
+      Assert.assertSame(Span.NOOP, TraceContext.current());
+    }
+  }
+
+  @Test
+  public void testFileExporter() throws Exception {
+    final var file = Files.createTempFile("spans", ".ndjson");
+    try {
+      try (var exporter = new FileSpanExporter(file)) {
+        final var span = new SimpleTracer(exporter).start("run", Span.NOOP);
+        span.tag("query", "RETURN \"a\"\n").tag("rows", 1).end();
+      }
+      final var lines = Files.readAllLines(file);
+      Assert.assertEquals(1, lines.size());
+      final var line = lines.get(0);
+      Assert.assertTrue(line, line.contains("\"name\":\"run\""));
+      final var tags = "\"tags\":{\"query\":\"RETURN \\\"a\\\"\\u000a\",\"rows\":1}";
+      Assert.assertTrue(line, line.contains(tags));
+      Assert.assertFalse(line, line.contains("error"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.traversal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.vesoft.nebula.DataSet;
+import com.vesoft.nebula.Edge;
+import com.vesoft.nebula.ErrorCode;
+import com.vesoft.nebula.NList;
+import com.vesoft.nebula.Row;
+import com.vesoft.nebula.Value;
+import com.vesoft.nebula.client.graph.data.ResultSet;
+import com.vesoft.nebula.graph.ExecutionResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+
+public class AdjacencyTest {
+
+  private final List<String> queries = new ArrayList<>();
+
+  static ResultSet resultSet(List<String> columns, List<Row> rows) {
+    final var names = new ArrayList<byte[]>();
+    columns.forEach(column -> names.add(column.getBytes(UTF_8)));
+    final var response = new ExecutionResponse(ErrorCode.SUCCEEDED, 0L);
+    response.data = new DataSet(names, rows);
+    return new ResultSet(response, 0);
+  }
+
+  static Edge edge(long src, long dst, int type, double weight) {
+    final var props = new HashMap<byte[], Value>();
+    props.put("w".getBytes(UTF_8), Value.fVal(weight));
+    return new Edge(Value.iVal(src), Value.iVal(dst), type, "link".getBytes(UTF_8), 0L, props);
+  }
+
+  @Test
+  public void testBuilder() {
+    final var adjacency =
+        Adjacency.builder(true)
+            .addVertex(10L)
+            .add(20L, 30L, 1.0)
+            .add(10L, 20L, 2.0)
+            .add(20L, 10L, 3.0)
+            .addVertex(40L)
+            .build();
+    Assert.assertEquals(4, adjacency.vertexCount());
+    Assert.assertEquals(3, adjacency.edgeCount());
+    Assert.assertEquals(0, adjacency.vertex(10L));
+    Assert.assertEquals(-1, adjacency.vertex(99L));
+    Assert.assertEquals(30L, adjacency.vid(2));
+    Assert.assertArrayEquals(new int[] {0, 1, 3, 3, 3}, adjacency.offsets());
+    Assert.assertArrayEquals(new int[] {1, 2, 0}, adjacency.targets());
+    Assert.assertArrayEquals(new double[] {2.0, 1.0, 3.0}, adjacency.weights(), 0.0);
+    Assert.assertEquals(0, adjacency.degree(3));
+    Assert.assertFalse(Adjacency.builder(false).add(1L, 2L, 0.5).build().hasWeights());
+  }
+
+  @Test
+  public void testGo() {
+    final var rows = new ArrayList<Row>();
+    rows.add(new Row(List.of(Value.iVal(1L), Value.iVal(2L), Value.fVal(0.5))));
+    rows.add(new Row(List.of(Value.iVal(2L), Value.iVal(3L), Value.iVal(2L))));
+    final var columns = List.of("src", "dst", "weight");
+    final var loader = new AdjacencyLoader(export(resultSet(columns, rows)));
+    final var traversal = Traversal.builder().seed(1L).edgeType("link").maxDepth(2).build();
+    final var adjacency = loader.go(traversal, "w");
+    Assert.assertEquals(
+        "GO 1 TO 2 STEPS FROM 1 OVER link YIELD src(edge) AS src, dst(edge) AS dst,"
+            + " properties(edge).`w` AS weight",
+        queries.get(0));
+    Assert.assertEquals(3, adjacency.vertexCount());
+    Assert.assertArrayEquals(new int[] {1, 2}, adjacency.targets());
+    Assert.assertArrayEquals(new double[] {0.5, 2.0}, adjacency.weights(), 0.0);
+  }
+
+  @Test
+  public void testSubgraph() {
+    final var edges =
+        List.of(Value.eVal(edge(1L, 2L, 5, 0.5)), Value.eVal(edge(1L, 3L, -5, 1.5)));
+    final var rows = List.of(new Row(List.of(Value.lVal(new NList(edges)))));
+    final var loader = new AdjacencyLoader(export(resultSet(List.of("edges"), rows)));
+    final var traversal =
+        Traversal.builder()
+            .seed(1L)
+            .edgeType("link")
+            .direction(Traversal.Direction.BOTH)
+            .maxDepth(1)
+            .build();
+    final var adjacency = loader.subgraph(traversal, null);
+    Assert.assertEquals(
+        "GET SUBGRAPH 1 STEPS FROM 1 BOTH link YIELD EDGES AS edges", queries.get(0));
+    Assert.assertFalse(adjacency.hasWeights());
+    // an edge reached in reverse from 1 keeps its stored direction, 3 -> 1
+    final var one = adjacency.vertex(1L);
+    final var three = adjacency.vertex(3L);
+    Assert.assertEquals(1, adjacency.degree(one));
+    Assert.assertEquals(adjacency.vertex(2L), adjacency.targets()[adjacency.offsets()[one]]);
+    Assert.assertEquals(one, adjacency.targets()[adjacency.offsets()[three]]);
+  }
+
+  BiConsumer<Query, Consumer<ResultSet>> export(ResultSet resultSet) {
+    return (query, sink) -> {
+      queries.add(query.text());
+      sink.accept(resultSet);
+    };
+  }
+}
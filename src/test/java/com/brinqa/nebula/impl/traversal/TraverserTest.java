@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.traversal;
+
+import com.brinqa.nebula.impl.MaterializedResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+
+public class TraverserTest {
+  private static final Pattern IDS = Pattern.compile("GO FROM (.*) OVER follow YIELD .*");
+  private static final List<String> KEYS = List.of("src", "dst", "type", "rank", "next");
+
+  private final List<String> queries = new ArrayList<>();
+
+  /** Vertex n follows n * 2 and n * 2 + 1 up to 15, and 15 follows 1 back. */
+  Result go(Query query) {
+    synchronized (queries) {
+      queries.add(query.text());
+    }
+    final var matcher = IDS.matcher(query.text());
+    Assert.assertTrue(query.text(), matcher.matches());
+    final var records = new ArrayList<Record>();
+    for (var id : matcher.group(1).split(", ")) {
+      final var src = Long.parseLong(id);
+      final var dsts = src == 15 ? List.of(1L) : List.of(src * 2, src * 2 + 1);
+      for (var dst : dsts) {
+        if (dst <= 15) {
+          final var values =
+              new Value[] {
+                Values.value(src),
+                Values.value(dst),
+                Values.value("follow"),
+                Values.value(0L),
+                Values.value(dst)
+              };
+          records.add(new InternalRecord(KEYS, values));
+        }
+      }
+    }
+    return new MaterializedResult(KEYS, records, null);
+  }
+
+  @Test
+  public void testExpandsFrontiers() {
+    final var executor = Executors.newFixedThreadPool(4);
+    try {
+      final var traverser = new Traverser(this::go, executor, 2, 4);
+      final var traversal = Traversal.builder().seed(1).edgeType("follow").maxDepth(10).build();
+      final var edges = traverser.traverse(traversal).toList().blockingGet();
+      // 14 edges of the tree and the edge back to the seed, which is not expanded again
+      Assert.assertEquals(15, edges.size());
+      final var depths =
+          edges.stream()
+              .collect(Collectors.groupingBy(TraversalEdge::getDepth, Collectors.counting()));
+      Assert.assertEquals(2L, (long) depths.get(1));
+      Assert.assertEquals(4L, (long) depths.get(2));
+      Assert.assertEquals(8L, (long) depths.get(3));
+      Assert.assertEquals(1L, (long) depths.get(4));
+      // frontiers of 1, 2, 4 and 8 vertices in chunks of 2
+      Assert.assertEquals(1 + 1 + 2 + 4, queries.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testText() {
+    final var traversal =
+        Traversal.builder().direction(Traversal.Direction.BOTH).maxDepth(2).build();
+    Assert.assertEquals(
+        "GO FROM \"a\", 2 OVER * BIDIRECT YIELD src(edge) AS src, dst(edge) AS dst,"
+            + " type(edge) AS type, rank(edge) AS rank, id($$) AS next",
+        Traverser.toText(traversal, List.of("a", 2L)));
+  }
+}
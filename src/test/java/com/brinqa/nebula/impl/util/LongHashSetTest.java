@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.util;
+
+import java.util.HashSet;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongHashSetTest {
+
+  @Test
+  public void testMatchesHashSet() {
+    final var random = new Random(42);
+    final var set = new LongHashSet();
+    final var expected = new HashSet<Long>();
+    for (int i = 0; i < 100_000; i++) {
+      final long value = random.nextInt(50_000) - 25_000;
+      Assert.assertEquals(expected.add(value), set.add(value));
+    }
+    Assert.assertEquals(expected.size(), set.size());
+    for (long value = -25_000; value < 25_000; value++) {
+      Assert.assertEquals(expected.contains(value), set.contains(value));
+    }
+    set.clear();
+    Assert.assertTrue(set.isEmpty());
+    Assert.assertFalse(set.contains(0L));
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 Brinqa, Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.brinqa.nebula.impl.util;
+
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongIntHashMapTest {
+
+  @Test
+  public void testMatchesHashMap() {
+    final var random = new Random(42);
+    final var map = new LongIntHashMap();
+    final var expected = new HashMap<Long, Integer>();
+    for (int i = 0; i < 100_000; i++) {
+      final long key = random.nextInt(50_000) - 25_000;
+      final var previous = expected.put(key, i);
+      Assert.assertEquals(null == previous ? -1 : previous, map.put(key, i, -1));
+    }
+    Assert.assertEquals(expected.size(), map.size());
+    Assert.assertEquals(expected.get(0L).intValue(), map.putIfAbsent(0L, -2, -1));
+    Assert.assertEquals(-1, map.putIfAbsent(50_000L, 7, -1));
+    Assert.assertEquals(7, map.get(50_000L, -1));
+    expected.put(50_000L, 7);
+    for (long key = -25_000; key < 25_000; key++) {
+      Assert.assertEquals(expected.getOrDefault(key, -1).intValue(), map.get(key, -1));
+      Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+    }
+  }
+}